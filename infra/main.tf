@@ -160,6 +160,40 @@ resource "aws_s3_bucket_policy" "images_public_read" {
   ]
 }
 
+# Envios diretos pela URL assinada ficam em incoming/ até a API copiar para receipts/;
+# o que nunca foi associado a uma transação expira sozinho
+resource "aws_s3_bucket_lifecycle_configuration" "images" {
+  bucket = aws_s3_bucket.images.id
+
+  rule {
+    id     = "expire-incoming"
+    status = "Enabled"
+
+    filter {
+      prefix = "incoming/"
+    }
+
+    expiration {
+      days = 1
+    }
+
+    abort_incomplete_multipart_upload {
+      days_after_initiation = 1
+    }
+  }
+}
+
+resource "aws_s3_bucket_cors_configuration" "images" {
+  bucket = aws_s3_bucket.images.id
+
+  cors_rule {
+    allowed_methods = ["PUT"]
+    allowed_origins = ["*"]
+    allowed_headers = ["Content-Type"]
+    max_age_seconds = 3000
+  }
+}
+
 # ------------------------------
 # IAM
 # ------------------------------
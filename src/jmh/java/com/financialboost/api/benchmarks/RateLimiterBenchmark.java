@@ -0,0 +1,68 @@
+package com.financialboost.api.benchmarks;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.financialboost.api.infra.ratelimit.RateLimiter;
+import com.financialboost.api.infra.ratelimit.RouteGroup;
+
+// Custo do token bucket por requisição, com 4 threads. "users=1" coloca todas no mesmo
+// balde (pior caso de disputa no compareAndSet); "limited=true" mede o caminho do 429.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    @Param({"1", "10000"})
+    public int users;
+
+    @Param({"false", "true"})
+    public boolean limited;
+
+    private RateLimiter rateLimiter;
+
+    private UUID[] keys;
+
+    @Setup
+    public void setup() {
+        rateLimiter = new RateLimiter();
+        ReflectionTestUtils.setField(rateLimiter, "maxKeys", 100_000);
+        ReflectionTestUtils.setField(rateLimiter, "readsRate", limited ? 1.0 : 1e9);
+        ReflectionTestUtils.setField(rateLimiter, "readsBurst", limited ? 1 : 1_000_000);
+        ReflectionTestUtils.setField(rateLimiter, "authRate", 1.0);
+        ReflectionTestUtils.setField(rateLimiter, "writesRate", 1.0);
+        ReflectionTestUtils.setField(rateLimiter, "uploadsRate", 1.0);
+        ReflectionTestUtils.invokeMethod(rateLimiter, "init");
+
+        keys = new UUID[users];
+        for (int i = 0; i < users; i++) {
+            keys[i] = UUID.randomUUID();
+            rateLimiter.tryAcquire(RouteGroup.READS, keys[i]);
+        }
+    }
+
+    @Benchmark
+    public long tryAcquire() {
+        UUID key = keys[ThreadLocalRandom.current().nextInt(users)];
+        return rateLimiter.tryAcquire(RouteGroup.READS, key);
+    }
+}
@@ -0,0 +1,89 @@
+package com.financialboost.api.benchmarks;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.ImageIO;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.FileSystemUtils;
+
+import com.financialboost.api.services.images.ReceiptImageProcessor;
+import com.financialboost.api.services.images.ReceiptImageProcessor.ProcessedImage;
+
+// Redução + miniatura de um comprovante, com os padrões de api.images.*: foto de celular
+// (JPEG 4000x3000) e print de tela (PNG 1170x2532)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReceiptImageProcessorBenchmark {
+
+    @Param({"jpeg:4000x3000", "png:1170x2532"})
+    public String source;
+
+    private ReceiptImageProcessor processor;
+
+    private Path dir;
+
+    private Path input;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        processor = new ReceiptImageProcessor(1600, 320, 0.8f);
+        dir = Files.createTempDirectory("receipt-benchmark");
+
+        String format = source.substring(0, source.indexOf(':'));
+        String[] size = source.substring(source.indexOf(':') + 1).split("x");
+        input = dir.resolve("source." + format);
+        ImageIO.write(sample(Integer.parseInt(size[0]), Integer.parseInt(size[1])), format, input.toFile());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileSystemUtils.deleteRecursively(dir);
+    }
+
+    @Benchmark
+    public ProcessedImage process() throws IOException {
+        return processor.process(input, dir.resolve("image.jpg"), dir.resolve("thumb.jpg"));
+    }
+
+    // Formas e ruído para o encoder não comprimir trivialmente
+    private static BufferedImage sample(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        Random random = new Random(42);
+        for (int i = 0; i < 400; i++) {
+            graphics.setColor(new Color(random.nextInt(256), random.nextInt(256), random.nextInt(256)));
+            graphics.fillOval(random.nextInt(width), random.nextInt(height), random.nextInt(width / 4) + 5, random.nextInt(height / 4) + 5);
+        }
+        graphics.dispose();
+        for (int y = 0; y < height; y += 4) {
+            for (int x = 0; x < width; x += 4) {
+                image.setRGB(x, y, random.nextInt());
+            }
+        }
+        return image;
+    }
+}
@@ -0,0 +1,78 @@
+package com.financialboost.api.benchmarks;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.financialboost.api.domain.user.User;
+import com.financialboost.api.domain.user.UserRole;
+import com.financialboost.api.infra.security.SecurityConfiguration;
+
+// getAuthorities roda no filtro de toda requisição; o BCrypt, no login e no cadastro.
+// O encoder vem do SecurityConfiguration, então acompanha o custo configurado.
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SecurityBenchmark {
+
+    private PasswordEncoder passwordEncoder;
+
+    private String hash;
+
+    @Setup
+    public void setup() {
+        passwordEncoder = new SecurityConfiguration().passwordEncoder();
+        hash = passwordEncoder.encode("benchmark-password");
+    }
+
+    @State(Scope.Benchmark)
+    public static class UserState {
+
+        @Param({"USER", "ADMIN"})
+        public UserRole role;
+
+        User user;
+
+        @Setup
+        public void setup() {
+            user = new User();
+            user.setLogin("benchmark@financialboost.com");
+            user.setRole(role);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Collection<? extends GrantedAuthority> getAuthorities(UserState state) {
+        return state.user.getAuthorities();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public String bcryptEncode() {
+        return passwordEncoder.encode("benchmark-password");
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public boolean bcryptMatches() {
+        return passwordEncoder.matches("benchmark-password", hash);
+    }
+}
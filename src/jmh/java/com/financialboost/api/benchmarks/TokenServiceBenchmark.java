@@ -0,0 +1,75 @@
+package com.financialboost.api.benchmarks;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.financialboost.api.domain.user.User;
+import com.financialboost.api.domain.user.UserRole;
+import com.financialboost.api.infra.security.TokenService;
+import com.financialboost.api.infra.security.VerifiedTokenCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Emissão e validação de JWT, executadas no login e em toda requisição autenticada.
+// "cached=false" desliga o VerifiedTokenCache e mede a verificação HMAC completa.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenServiceBenchmark {
+
+    @Param({"true", "false"})
+    public boolean cached;
+
+    private TokenService tokenService;
+
+    private User user;
+
+    private String token;
+
+    @Setup
+    public void setup() {
+        VerifiedTokenCache tokenCache = new VerifiedTokenCache();
+        ReflectionTestUtils.setField(tokenCache, "maxSize", cached ? 10_000 : 0);
+
+        tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "secret", "benchmark-secret");
+        ReflectionTestUtils.setField(tokenService, "tokenTtl", Duration.ofHours(2));
+        ReflectionTestUtils.setField(tokenService, "tokenCache", tokenCache);
+        ReflectionTestUtils.setField(tokenService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.invokeMethod(tokenService, "init");
+
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setLogin("benchmark@financialboost.com");
+        user.setRole(UserRole.USER);
+
+        token = tokenService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenService.generateToken(user);
+    }
+
+    @Benchmark
+    public String validateToken() {
+        return tokenService.validateToken(token);
+    }
+}
@@ -0,0 +1,113 @@
+package com.financialboost.api.benchmarks;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.financialboost.api.domain.category.Category;
+import com.financialboost.api.domain.transaction.Transaction;
+import com.financialboost.api.domain.transaction.Transaction.ImageStatus;
+import com.financialboost.api.domain.transaction.Transaction.Operation;
+import com.financialboost.api.domain.transaction.Transaction.TransactionType;
+import com.financialboost.api.domain.transaction.TransactionResponseDTO;
+
+// Montagem e serialização das respostas de /transactions. O ObjectMapper sai do mesmo
+// builder que o Spring Boot usa para os controllers.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionSerializationBenchmark {
+
+    private ObjectWriter writer;
+
+    private Transaction transaction;
+
+    private TransactionResponseDTO response;
+
+    @Setup
+    public void setup() {
+        writer = Jackson2ObjectMapperBuilder.json().build().writer();
+
+        Category category = new Category();
+        category.setId(7);
+        category.setName("Alimentação");
+
+        transaction = new Transaction(new BigDecimal("1234"), Operation.NEGATIVE, TransactionType.PIX,
+                LocalDateTime.of(2024, 5, 10, 12, 30), category, null,
+                "https://financial-boost-imagens.s3.amazonaws.com/receipts/0ed0d866db5c3aaee3076c7712f8127c6d15d289acbf5c394aeacf59571a3578.jpg");
+        transaction.setId(42);
+        transaction.setThumbnailUrl(transaction.getImgUrl().replace(".jpg", "-thumb.jpg"));
+
+        response = new TransactionResponseDTO(transaction);
+    }
+
+    // Só o benchmark de página varia com o tamanho
+    @State(Scope.Benchmark)
+    public static class PageState {
+
+        @Param({"10", "50", "200"})
+        public int pageSize;
+
+        Page<TransactionResponseDTO> page;
+
+        @Setup
+        public void setup(TransactionSerializationBenchmark benchmark) {
+            TransactionResponseDTO response = benchmark.response;
+            List<TransactionResponseDTO> content = new ArrayList<>(pageSize);
+            for (int i = 0; i < pageSize; i++) {
+                boolean withImage = i % 3 == 0;
+                content.add(new TransactionResponseDTO(i, "Alimentação", 7, Operation.NEGATIVE, TransactionType.PIX,
+                        LocalDateTime.of(2024, 5, 10, 12, 30).plusMinutes(i), BigDecimal.valueOf(1000 + i),
+                        withImage ? response.imgUrl() : null, withImage ? response.thumbnailUrl() : null,
+                        withImage ? ImageStatus.UPLOADED : null));
+            }
+            page = new PageImpl<>(content, PageRequest.of(0, pageSize), 10_000);
+        }
+    }
+
+    @Benchmark
+    public TransactionResponseDTO fromEntity() {
+        return new TransactionResponseDTO(transaction);
+    }
+
+    // Construtor usado pelas projeções JPQL (SELECT new ...)
+    @Benchmark
+    public TransactionResponseDTO fromProjection() {
+        return new TransactionResponseDTO(42, "Alimentação", 7, Operation.NEGATIVE, TransactionType.PIX,
+                transaction.getDatetime(), transaction.getValue(), transaction.getImgUrl(),
+                transaction.getThumbnailUrl(), ImageStatus.UPLOADED);
+    }
+
+    @Benchmark
+    public byte[] serializeResponse() throws JsonProcessingException {
+        return writer.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializePage(PageState state) throws JsonProcessingException {
+        return writer.writeValueAsBytes(state.page);
+    }
+}
@@ -0,0 +1,375 @@
+package com.financialboost.api.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financialboost.api.infra.concurrency.AdaptiveConcurrencyLimiter;
+import com.financialboost.api.loadtest.DatasetSeeder.SeededUser;
+import com.financialboost.api.loadtest.LatencyRecorder.EndpointStats;
+import com.financialboost.api.repository.CategoryRepository;
+import com.financialboost.api.repository.UserBalanceRepository;
+import com.financialboost.api.repository.UserRepository;
+import com.financialboost.api.services.TransactionImportService;
+
+// Sobrecarga: mede a capacidade da API (vazão de respostas 2xx com clientes em laço fechado)
+// e depois oferece 1x e 2x essa taxa em modelo aberto. Com o limite adaptativo, o excesso
+// volta como 503 na hora e o p99 das leituras admitidas não pode crescer com a carga.
+// Para comparar com -Dapi.concurrency.enabled=false, fixe a mesma taxa nos dois modos com
+// -Dloadtest.shedding.capacity: a capacidade medida muda com o limite ligado ou desligado.
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.root=WARN",
+        "logging.level.org.springframework.web=WARN",
+        "api.rate-limit.enabled=false"
+    })
+@Import(TransactionApiLoadIT.NoStorageConfiguration.class)
+class ConcurrencyLimitLoadIT {
+
+    private static final String DATABASE = "financialboost_loadtest_shedding";
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws Exception {
+        TransactionApiLoadIT.recreateDatabase(registry, DATABASE);
+    }
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    UserBalanceRepository userBalanceRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    TransactionImportService importService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PasswordEncoder passwordEncoder;
+
+    @Autowired
+    AdaptiveConcurrencyLimiter limiter;
+
+    @Value("${loadtest.users:20}")
+    int users;
+
+    @Value("${loadtest.categories-per-user:10}")
+    int categoriesPerUser;
+
+    @Value("${loadtest.transactions-per-user:1000}")
+    int transactionsPerUser;
+
+    @Value("${loadtest.shedding.clients:64}")
+    int clients;
+
+    @Value("${loadtest.shedding.calibration:PT15S}")
+    Duration calibration;
+
+    // 0 mede a capacidade; um valor fixo (req/s) pula a calibração
+    @Value("${loadtest.shedding.capacity:0}")
+    double capacity;
+
+    @Value("${loadtest.shedding.duration:PT30S}")
+    Duration duration;
+
+    // p99 das leituras admitidas a 2x pode passar do de 1x por este fator mais a folga absoluta
+    @Value("${loadtest.shedding.max-p99-growth:1.25}")
+    double maxP99Growth;
+
+    @Value("${loadtest.shedding.p99-slack:PT0.02S}")
+    Duration p99Slack;
+
+    @Value("${loadtest.max-error-rate:0.01}")
+    double maxErrorRate;
+
+    @Value("${api.concurrency.enabled:true}")
+    boolean limiterEnabled;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(REQUEST_TIMEOUT).build();
+
+    private String baseUrl;
+
+    private List<SeededUser> seeded;
+
+    private List<String> tokens;
+
+    private byte[] receipt;
+
+    @Test
+    void readLatencyStaysFlatAtTwiceCapacity() throws Exception {
+        baseUrl = "http://localhost:" + port;
+        seeded = new DatasetSeeder(userRepository, userBalanceRepository, categoryRepository, importService, jdbcTemplate, passwordEncoder)
+                .seed(users, categoriesPerUser, transactionsPerUser);
+        receipt = TransactionApiLoadIT.sampleReceipt();
+
+        tokens = new ArrayList<>();
+        for (SeededUser user : seeded) {
+            tokens.add(login(user.login()));
+        }
+
+        // A calibração também serve de aquecimento (JIT, pool, cache de tokens e categorias)
+        double measured = calibrate();
+        double offered = capacity > 0 ? capacity : measured;
+
+        Map<String, Phase> phases = new LinkedHashMap<>();
+        phases.put("1x", phase(offered));
+        phases.put("2x", phase(offered * 2));
+
+        List<String> violations = check(phases.get("1x"), phases.get("2x"));
+        writeReport(measured, offered, phases, violations);
+
+        assertTrue(violations.isEmpty(), "Sobrecarga mal absorvida:\n" + String.join("\n", violations));
+    }
+
+    // Clientes em laço fechado: a vazão de 2xx é o que a API consegue atender com essa mistura
+    private double calibrate() throws InterruptedException {
+        LongAdder completed = new LongAdder();
+        long deadline = System.nanoTime() + calibration.toNanos();
+        long start = System.nanoTime();
+
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                pool.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        int status = arrival(null, System.nanoTime());
+                        if (status >= 200 && status < 300) {
+                            completed.increment();
+                        } else {
+                            // Respeita o Retry-After em escala: só evita girar em cima de 503
+                            Thread.sleep(10);
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+        return completed.sum() / ((System.nanoTime() - start) / 1_000_000_000.0);
+    }
+
+    private Phase phase(double rate) {
+        LatencyRecorder recorder = new LatencyRecorder();
+        double elapsed = new FixedRateLoadGenerator(rate).run(duration, intendedStart -> arrival(recorder, intendedStart));
+        return new Phase(rate, recorder.stats(elapsed));
+    }
+
+    // Leituras baratas em maioria, com envios de comprovante e logins (BCrypt) competindo pelas vagas
+    private int arrival(LatencyRecorder recorder, long intendedStart) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int index = random.nextInt(seeded.size());
+        SeededUser user = seeded.get(index);
+        String token = tokens.get(index);
+        int dice = random.nextInt(100);
+
+        try {
+            if (dice < 5) {
+                return send(recorder, "login", intendedStart, json("/auth/login",
+                        Map.of("login", user.login(), "password", DatasetSeeder.PASSWORD)));
+            } else if (dice < 15) {
+                return send(recorder, "uploads", intendedStart, createWithImage(user, token));
+            } else if (dice < 50) {
+                return send(recorder, "reads", intendedStart, get("/transactions?page=" + random.nextInt(5) + "&size=20", token));
+            } else if (dice < 75) {
+                return send(recorder, "reads", intendedStart, get("/transactions/" + pick(user.transactionIds()), token));
+            } else {
+                return send(recorder, "reads", intendedStart, get("/categories", token));
+            }
+        } catch (Exception e) {
+            if (recorder != null) recorder.recordFailure("errors");
+            return 0;
+        }
+    }
+
+    // 2xx entram em "<classe>" e "admitted"; 503 em "<classe>.shed" e "shed"; o resto em "errors"
+    private int send(LatencyRecorder recorder, String kind, long intendedStart, HttpRequest request)
+            throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        int status = response.statusCode();
+        if (recorder == null) return status;
+
+        if (status >= 200 && status < 300) {
+            recorder.record(kind, intendedStart, status);
+            recorder.record("admitted", intendedStart, status);
+        } else if (status == 503) {
+            recorder.record(kind + ".shed", intendedStart, 200);
+            recorder.record("shed", intendedStart, 200);
+        } else {
+            recorder.record("errors", intendedStart, status);
+        }
+        return status;
+    }
+
+    private List<String> check(Phase base, Phase overload) {
+        List<String> violations = new ArrayList<>();
+
+        // Leituras são a classe que o limite protege e a maioria do tráfego. O p99 de "admitted"
+        // fica no relatório, mas não serve de critério: login (BCrypt) e envios são poucos
+        // por cento das admitidas, então esse p99 é a latência deles, que dependem de CPU e
+        // do corpo enviado, e a 2x eles são justamente os mais recusados.
+        double baseP99 = base.stat("reads").p99Millis();
+        double overloadP99 = overload.stat("reads").p99Millis();
+        double allowed = baseP99 * maxP99Growth + p99Slack.toMillis();
+        if (overloadP99 > allowed) {
+            violations.add(String.format("p99 das leituras a 2x = %.1fms > %.1fms (1x = %.1fms)", overloadP99, allowed, baseP99));
+        }
+
+        long shed = overload.stat("shed").requests();
+        if (shed == 0) {
+            violations.add("nenhuma requisição recusada a 2x: a capacidade medida está errada ou o limite não atuou");
+        }
+
+        // Leituras devem perder proporcionalmente menos que envios e login
+        double readsShed = overload.shedRate("reads");
+        double othersShed = Math.min(overload.shedRate("uploads"), overload.shedRate("login"));
+        if (shed > 0 && readsShed > othersShed) {
+            violations.add(String.format("leituras recusadas (%.1f%%) acima de envios/login (%.1f%%)", readsShed * 100, othersShed * 100));
+        }
+
+        for (Phase phase : List.of(base, overload)) {
+            long total = phase.stat("admitted").requests() + phase.stat("shed").requests() + phase.stat("errors").requests();
+            long errors = phase.stat("errors").errors();
+            if (total > 0 && (double) errors / total > maxErrorRate) {
+                violations.add(String.format("%.0f req/s: %d erros (fora 2xx/503) em %d requisições", phase.rate(), errors, total));
+            }
+        }
+        return violations;
+    }
+
+    private void writeReport(double measured, double offered, Map<String, Phase> phases, List<String> violations) throws IOException {
+        System.out.printf("%nCapacidade medida: %.1f req/s (%d clientes por %s), oferecida: %.1f req/s, limite adaptativo %s%n",
+                measured, clients, calibration, offered, limiterEnabled ? "ligado" : "desligado");
+        System.out.printf("%-6s %-14s %8s %9s %9s %9s %9s%n", "carga", "classe", "reqs", "req/s", "p50", "p99", "max");
+        for (Map.Entry<String, Phase> phase : phases.entrySet()) {
+            for (EndpointStats stats : phase.getValue().stats()) {
+                System.out.printf("%-6s %-14s %8d %9.1f %8.1fms %8.1fms %8.1fms%n", phase.getKey(), stats.endpoint(),
+                        stats.requests(), stats.throughput(), stats.p50Millis(), stats.p99Millis(), stats.maxMillis());
+            }
+        }
+        System.out.println("Limite ao final: " + limiter.stats());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("limiter", limiterEnabled);
+        report.put("measuredCapacity", measured);
+        report.put("offeredCapacity", offered);
+        report.put("durationSeconds", duration.toSeconds());
+        report.put("phases", phases);
+        report.put("finalLimit", limiter.stats());
+        report.put("violations", violations);
+
+        Path file = Path.of("target", "loadtest", "shedding-" + (limiterEnabled ? "limited" : "unlimited") + ".json");
+        Files.createDirectories(file.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+    }
+
+    private HttpRequest createWithImage(SeededUser user, String token) {
+        String boundary = "loadtest-" + UUID.randomUUID();
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("value", String.valueOf(ThreadLocalRandom.current().nextInt(1, 5_000)));
+        fields.put("operation", "NEGATIVE");
+        fields.put("type", "PIX");
+        fields.put("datetime", LocalDateTime.now().withNano(0).toString());
+        fields.put("categoryId", String.valueOf(pick(user.categoryIds())));
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            body.writeBytes(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + field.getKey()
+                    + "\"\r\n\r\n" + field.getValue() + "\r\n").getBytes(StandardCharsets.UTF_8));
+        }
+        body.writeBytes(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"image\"; filename=\"comprovante.jpg\""
+                + "\r\nContent-Type: image/jpeg\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(receipt);
+        body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+        return HttpRequest.newBuilder(uri("/transactions"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+    }
+
+    private String login(String login) throws Exception {
+        HttpResponse<String> response = http.send(json("/auth/login",
+                Map.of("login", login, "password", DatasetSeeder.PASSWORD)), HttpResponse.BodyHandlers.ofString());
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(uri(path)).timeout(REQUEST_TIMEOUT).header("Authorization", "Bearer " + token).GET().build();
+    }
+
+    private HttpRequest json(String path, Map<String, String> body) throws IOException {
+        return HttpRequest.newBuilder(uri(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private static <T> T pick(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+
+    record Phase(double rate, List<EndpointStats> stats) {
+
+        EndpointStats stat(String endpoint) {
+            return stats.stream()
+                    .filter(stats -> stats.endpoint().equals(endpoint))
+                    .findFirst()
+                    .orElse(new EndpointStats(endpoint, 0, 0, 0, 0, 0, 0, 0));
+        }
+
+        double shedRate(String kind) {
+            long shed = stat(kind + ".shed").requests();
+            long total = shed + stat(kind).requests();
+            return total == 0 ? 0 : (double) shed / total;
+        }
+    }
+}
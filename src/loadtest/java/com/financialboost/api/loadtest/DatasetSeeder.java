@@ -0,0 +1,91 @@
+package com.financialboost.api.loadtest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.financialboost.api.domain.balance.UserBalance;
+import com.financialboost.api.domain.category.Category;
+import com.financialboost.api.domain.imports.ImportFormat;
+import com.financialboost.api.domain.transaction.Transaction.TransactionType;
+import com.financialboost.api.domain.user.User;
+import com.financialboost.api.domain.user.UserRole;
+import com.financialboost.api.repository.CategoryRepository;
+import com.financialboost.api.repository.UserBalanceRepository;
+import com.financialboost.api.repository.UserRepository;
+import com.financialboost.api.services.TransactionImportService;
+
+// Massa sintética: N usuários x M categorias x K transações. As transações entram pela
+// importação em lote, que já mantém saldos e resumos mensais consistentes.
+class DatasetSeeder {
+
+    static final String PASSWORD = "loadtest-password";
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final UserRepository userRepository;
+    private final UserBalanceRepository userBalanceRepository;
+    private final CategoryRepository categoryRepository;
+    private final TransactionImportService importService;
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+
+    DatasetSeeder(UserRepository userRepository, UserBalanceRepository userBalanceRepository, CategoryRepository categoryRepository,
+            TransactionImportService importService, JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder) {
+        this.userRepository = userRepository;
+        this.userBalanceRepository = userBalanceRepository;
+        this.categoryRepository = categoryRepository;
+        this.importService = importService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    List<SeededUser> seed(int users, int categoriesPerUser, int transactionsPerUser) throws IOException {
+        // Um hash só: o BCrypt de cada cadastro dominaria o tempo de preparo
+        String hash = passwordEncoder.encode(PASSWORD);
+        Random random = new Random(42);
+        LocalDateTime origin = LocalDateTime.now().withNano(0).minusYears(2);
+        List<SeededUser> seeded = new ArrayList<>(users);
+
+        for (int u = 0; u < users; u++) {
+            User user = userRepository.save(new User("loadtest-" + u + "@financialboost.com", hash, UserRole.USER, null));
+            userBalanceRepository.save(new UserBalance(user.getId(), BigDecimal.ZERO, LocalDateTime.now()));
+
+            List<Category> categories = new ArrayList<>(categoriesPerUser);
+            for (int c = 0; c < categoriesPerUser; c++) {
+                // Nome de categoria é único na tabela inteira
+                categories.add(new Category("u" + u + "-categoria-" + c, "icon", user));
+            }
+            categories = categoryRepository.saveAll(categories);
+
+            StringBuilder csv = new StringBuilder("datetime;value;operation;type;category\n");
+            for (int t = 0; t < transactionsPerUser; t++) {
+                csv.append(origin.plusMinutes(random.nextInt(2 * 365 * 24 * 60))).append(';')
+                    .append(1 + random.nextInt(5_000)).append(';')
+                    .append(random.nextInt(3) == 0 ? "POSITIVE" : "NEGATIVE").append(';')
+                    .append(TYPES[random.nextInt(TYPES.length)]).append(';')
+                    .append(categories.get(random.nextInt(categories.size())).getName()).append('\n');
+            }
+            importService.importStatement(user.getId(), new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)),
+                    ImportFormat.CSV, categories.get(0).getId(), TransactionType.PIX);
+
+            List<Integer> transactionIds = jdbcTemplate.queryForList(
+                    "SELECT id FROM transactions WHERE user_id = ? ORDER BY id LIMIT 200", Integer.class, user.getId());
+
+            seeded.add(new SeededUser(user.getId(), user.getLogin(),
+                    categories.stream().map(Category::getId).toList(), transactionIds));
+        }
+        return seeded;
+    }
+
+    record SeededUser(UUID id, String login, List<Integer> categoryIds, List<Integer> transactionIds) {}
+}
@@ -0,0 +1,41 @@
+package com.financialboost.api.loadtest;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+
+// Modelo aberto: as chegadas seguem uma taxa fixa independente das respostas, então um
+// servidor lento acumula requisições em vez de desacelerar o gerador
+class FixedRateLoadGenerator {
+
+    interface Arrival {
+        void run(long intendedStartNanos);
+    }
+
+    private final double ratePerSecond;
+
+    FixedRateLoadGenerator(double ratePerSecond) {
+        this.ratePerSecond = ratePerSecond;
+    }
+
+    // Retorna a duração real em segundos, incluindo a espera das últimas respostas
+    double run(Duration duration, Arrival arrival) {
+        long periodNanos = (long) (1_000_000_000L / ratePerSecond);
+        long arrivals = (long) (ratePerSecond * duration.toNanos() / 1_000_000_000.0);
+        long start = System.nanoTime();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < arrivals; i++) {
+                long intendedStart = start + i * periodNanos;
+                long wait = intendedStart - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                clients.submit(() -> arrival.run(intendedStart));
+            }
+        }
+
+        return (System.nanoTime() - start) / 1_000_000_000.0;
+    }
+}
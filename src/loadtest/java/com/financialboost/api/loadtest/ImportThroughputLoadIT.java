@@ -0,0 +1,226 @@
+package com.financialboost.api.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financialboost.api.domain.transaction.Transaction.TransactionType;
+import com.financialboost.api.loadtest.DatasetSeeder.SeededUser;
+import com.financialboost.api.repository.CategoryRepository;
+import com.financialboost.api.repository.UserBalanceRepository;
+import com.financialboost.api.repository.UserRepository;
+import com.financialboost.api.services.TransactionImportService;
+
+// Vazão da importação de extratos: um CSV de loadtest.import.rows linhas enviado pelo
+// POST /transactions/import, do upload ao último lote gravado. A primeira rodada aquece
+// JIT e pool e fica fora da conta; falha se a mediana das demais ficar abaixo do alvo.
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.root=WARN",
+        "logging.level.org.springframework.web=WARN",
+        "api.rate-limit.enabled=false"
+    })
+@Import(TransactionApiLoadIT.NoStorageConfiguration.class)
+class ImportThroughputLoadIT {
+
+    private static final String DATABASE = "financialboost_loadtest_import";
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofMinutes(5);
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws Exception {
+        TransactionApiLoadIT.recreateDatabase(registry, DATABASE);
+    }
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    UserBalanceRepository userBalanceRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    TransactionImportService importService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PasswordEncoder passwordEncoder;
+
+    @Value("${loadtest.import.rows:300000}")
+    int rows;
+
+    @Value("${loadtest.import.runs:3}")
+    int runs;
+
+    @Value("${loadtest.import.categories:20}")
+    int categories;
+
+    @Value("${loadtest.import.min-rows-per-second:50000}")
+    double minRowsPerSecond;
+
+    @Value("${api.import.batch-size:1000}")
+    int batchSize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(REQUEST_TIMEOUT).build();
+
+    @Test
+    void importSustainsTargetThroughput() throws Exception {
+        SeededUser user = new DatasetSeeder(userRepository, userBalanceRepository, categoryRepository, importService, jdbcTemplate, passwordEncoder)
+                .seed(1, categories, 0)
+                .get(0);
+        String token = login(user.login());
+        List<String> categoryNames = jdbcTemplate.queryForList(
+                "SELECT name FROM categories WHERE user_id = ? ORDER BY id", String.class, user.id());
+
+        Path csv = Path.of("target", "loadtest", "import-" + rows + ".csv");
+        Files.createDirectories(csv.getParent());
+        BigDecimal fileBalance = writeCsv(csv, categoryNames);
+
+        List<Run> measured = new ArrayList<>();
+        for (int run = 0; run <= runs; run++) {
+            Run result = importFile(csv, token);
+            assertEquals(rows, result.imported(), "linhas importadas");
+            if (run > 0) measured.add(result);
+        }
+
+        // Saldo mantido lote a lote tem que bater com a soma de tudo que foi importado
+        BigDecimal balance = jdbcTemplate.queryForObject(
+                "SELECT balance FROM user_balances WHERE user_id = ?", BigDecimal.class, user.id());
+        assertEquals(0, fileBalance.multiply(BigDecimal.valueOf(runs + 1)).compareTo(balance), "saldo após as importações");
+
+        double median = measured.stream().mapToDouble(Run::rowsPerSecond).sorted().toArray()[measured.size() / 2];
+        writeReport(csv, measured, median);
+
+        assertTrue(median >= minRowsPerSecond,
+                String.format("Importação a %.0f linhas/s, abaixo do alvo de %.0f", median, minRowsPerSecond));
+    }
+
+    // Formato datetime;value;operation;type;category, como um extrato exportado de outro app
+    private BigDecimal writeCsv(Path csv, List<String> categoryNames) throws IOException {
+        Random random = new Random(42);
+        LocalDateTime origin = LocalDateTime.now().withNano(0).minusYears(2);
+        long balance = 0;
+
+        try (BufferedWriter writer = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+            writer.write("datetime;value;operation;type;category\n");
+            for (int i = 0; i < rows; i++) {
+                int value = 1 + random.nextInt(5_000);
+                boolean positive = random.nextInt(3) == 0;
+                balance += positive ? value : -value;
+
+                writer.write(origin.plusMinutes(random.nextInt(2 * 365 * 24 * 60)).toString());
+                writer.write(';');
+                writer.write(Integer.toString(value));
+                writer.write(positive ? ";POSITIVE;" : ";NEGATIVE;");
+                writer.write(TYPES[random.nextInt(TYPES.length)].name());
+                writer.write(';');
+                writer.write(categoryNames.get(random.nextInt(categoryNames.size())));
+                writer.write('\n');
+            }
+        }
+        return BigDecimal.valueOf(balance);
+    }
+
+    private Run importFile(Path csv, String token) throws Exception {
+        String boundary = "loadtest-" + UUID.randomUUID();
+        String head = "--" + boundary + "\r\nContent-Disposition: form-data; name=\"file\"; filename=\"extrato.csv\""
+                + "\r\nContent-Type: text/csv\r\n\r\n";
+        String tail = "\r\n--" + boundary + "--\r\n";
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/transactions/import"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.concat(
+                        HttpRequest.BodyPublishers.ofString(head),
+                        HttpRequest.BodyPublishers.ofFile(csv),
+                        HttpRequest.BodyPublishers.ofString(tail)))
+                .build();
+
+        long start = System.nanoTime();
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        assertEquals(200, response.statusCode(), response.body());
+        JsonNode body = objectMapper.readTree(response.body());
+        long imported = body.get("imported").asLong();
+        return new Run(imported, body.get("failed").asLong(), seconds, imported / seconds);
+    }
+
+    private void writeReport(Path csv, List<Run> measured, double median) throws IOException {
+        System.out.printf("%nImportação de %d linhas (%.1f MB), lotes de %d:%n", rows, Files.size(csv) / 1_048_576.0, batchSize);
+        for (int i = 0; i < measured.size(); i++) {
+            Run run = measured.get(i);
+            System.out.printf("  rodada %d: %.2fs, %.0f linhas/s%n", i + 1, run.seconds(), run.rowsPerSecond());
+        }
+        System.out.printf("  mediana: %.0f linhas/s (alvo %.0f)%n", median, minRowsPerSecond);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("rows", rows);
+        report.put("fileBytes", Files.size(csv));
+        report.put("batchSize", batchSize);
+        report.put("runs", measured);
+        report.put("medianRowsPerSecond", median);
+        report.put("targetRowsPerSecond", minRowsPerSecond);
+
+        Path file = Path.of("target", "loadtest", "import.json");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+    }
+
+    private String login(String login) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/auth/login"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(
+                        Map.of("login", login, "password", DatasetSeeder.PASSWORD))))
+                .build();
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    record Run(long imported, long failed, double seconds, double rowsPerSecond) {}
+}
@@ -0,0 +1,72 @@
+package com.financialboost.api.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latências por endpoint, medidas a partir do instante em que a requisição deveria ter saído
+// (não de quando saiu): atrasos do próprio servidor não escondem a fila.
+class LatencyRecorder {
+
+    private final Map<String, Samples> samples = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long intendedStartNanos, int status) {
+        long micros = (System.nanoTime() - intendedStartNanos) / 1_000;
+        Samples endpointSamples = samples.computeIfAbsent(endpoint, name -> new Samples());
+        endpointSamples.latencies.add(micros);
+        if (status < 200 || status >= 300) {
+            endpointSamples.errors.increment();
+        }
+    }
+
+    void recordFailure(String endpoint) {
+        samples.computeIfAbsent(endpoint, name -> new Samples()).errors.increment();
+    }
+
+    List<EndpointStats> stats(double elapsedSeconds) {
+        List<EndpointStats> stats = new ArrayList<>();
+        for (Map.Entry<String, Samples> entry : new TreeMap<>(samples).entrySet()) {
+            long[] sorted = entry.getValue().latencies.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            long errors = entry.getValue().errors.sum();
+            stats.add(new EndpointStats(entry.getKey(), sorted.length, errors,
+                    sorted.length / elapsedSeconds,
+                    percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99),
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1_000.0));
+        }
+        return stats;
+    }
+
+    // Nearest-rank, em milissegundos
+    private static double percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) return 0;
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1_000.0;
+    }
+
+    private static class Samples {
+        final Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+        final LongAdder errors = new LongAdder();
+    }
+
+    record EndpointStats(
+        String endpoint,
+        long requests,
+        long errors,
+        double throughput,
+        double p50Millis,
+        double p95Millis,
+        double p99Millis,
+        double maxMillis
+    ) {
+        double errorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+    }
+}
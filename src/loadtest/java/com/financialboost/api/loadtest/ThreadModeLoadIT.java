@@ -0,0 +1,284 @@
+package com.financialboost.api.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.util.unit.DataSize;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financialboost.api.S3Stub;
+import com.financialboost.api.loadtest.DatasetSeeder.SeededUser;
+import com.financialboost.api.loadtest.LatencyRecorder.EndpointStats;
+import com.financialboost.api.repository.CategoryRepository;
+import com.financialboost.api.repository.UserBalanceRepository;
+import com.financialboost.api.repository.UserRepository;
+import com.financialboost.api.services.TransactionImportService;
+
+// Threads de plataforma x virtual threads com o pool do Tomcat saturado: o S3 é um stub em
+// processo com latência fixa e o cache de imagens é pequeno, então quase todo
+// GET /transactions/{id}/image/content espera o S3 ocupando uma thread de requisição. Rode
+// uma vez com e outra sem -Dspring.threads.virtual.enabled=true e compare os relatórios.
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.root=WARN",
+        "logging.level.org.springframework.web=WARN",
+        "api.rate-limit.enabled=false",
+        // Mede o modelo de threads, não o limite adaptativo que recusaria o excesso
+        "api.concurrency.enabled=false",
+        "server.tomcat.threads.max=${loadtest.threads.tomcat-max:20}",
+        // Com open-in-view a leitura do comprovante segura a conexão durante o GET no S3: o pool
+        // do banco precisa ser maior que o do Tomcat, senão é ele que limita os dois modos
+        "spring.datasource.hikari.maximum-pool-size=${loadtest.threads.db-pool:40}",
+        "api.images.cache.max-size=${loadtest.threads.image-cache:64KB}"
+    })
+class ThreadModeLoadIT {
+
+    private static final String DATABASE = "financialboost_loadtest_threads";
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    static {
+        System.setProperty("aws.accessKeyId", "loadtest");
+        System.setProperty("aws.secretKey", "loadtest");
+    }
+
+    private static final S3Stub s3 = startStorage();
+
+    @DynamicPropertySource
+    static void environment(DynamicPropertyRegistry registry) throws Exception {
+        TransactionApiLoadIT.recreateDatabase(registry, DATABASE);
+        registry.add("aws.endpoint", s3::endpoint);
+    }
+
+    @AfterAll
+    static void stopStorage() {
+        s3.close();
+    }
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    UserBalanceRepository userBalanceRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    TransactionImportService importService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PasswordEncoder passwordEncoder;
+
+    @Autowired
+    AmazonS3 amazonS3;
+
+    @Value("${aws.bucket.name}")
+    String bucket;
+
+    @Value("${loadtest.users:10}")
+    int users;
+
+    @Value("${loadtest.threads.images-per-user:50}")
+    int imagesPerUser;
+
+    @Value("${loadtest.threads.image-size:16KB}")
+    DataSize imageSize;
+
+    @Value("${loadtest.threads.rate:60}")
+    double rate;
+
+    @Value("${loadtest.warmup:PT10S}")
+    Duration warmup;
+
+    @Value("${loadtest.duration:PT60S}")
+    Duration duration;
+
+    @Value("${loadtest.max-error-rate:0.01}")
+    double maxErrorRate;
+
+    @Value("${loadtest.threads.tomcat-max:20}")
+    int tomcatThreads;
+
+    @Value("${loadtest.threads.s3-latency:PT0.5S}")
+    Duration s3Latency;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    boolean virtualThreads;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(REQUEST_TIMEOUT).build();
+
+    private String baseUrl;
+
+    private List<String> tokens;
+
+    private List<List<Integer>> receipts;
+
+    @Test
+    void imageReadsUnderSaturatedRequestThreads() throws Exception {
+        baseUrl = "http://localhost:" + port;
+        List<SeededUser> seeded = new DatasetSeeder(userRepository, userBalanceRepository, categoryRepository, importService,
+                jdbcTemplate, passwordEncoder).seed(users, 5, imagesPerUser);
+
+        tokens = new ArrayList<>();
+        receipts = new ArrayList<>();
+        for (SeededUser user : seeded) {
+            tokens.add(login(user.login()));
+            receipts.add(user.transactionIds());
+        }
+        attachReceipts(seeded);
+
+        FixedRateLoadGenerator generator = new FixedRateLoadGenerator(rate);
+        generator.run(warmup, intendedStart -> arrival(new LatencyRecorder(), intendedStart));
+
+        LatencyRecorder recorder = new LatencyRecorder();
+        double elapsed = generator.run(duration, intendedStart -> arrival(recorder, intendedStart));
+        List<EndpointStats> stats = recorder.stats(elapsed);
+
+        List<String> violations = new ArrayList<>();
+        for (EndpointStats endpoint : stats) {
+            if (endpoint.errorRate() > maxErrorRate) {
+                violations.add(String.format("%s: %.2f%% de erros > %.2f%%", endpoint.endpoint(),
+                        endpoint.errorRate() * 100, maxErrorRate * 100));
+            }
+        }
+        writeReport(stats, violations);
+
+        assertTrue(violations.isEmpty(), "Erros acima do limite:\n" + String.join("\n", violations));
+    }
+
+    // Um objeto distinto no stub por transação: com o cache pequeno, cada leitura é um GET no S3.
+    // Gravados direto no stub, senão a latência dele dominaria o preparo.
+    private void attachReceipts(List<SeededUser> seeded) {
+        for (SeededUser user : seeded) {
+            for (Integer id : user.transactionIds()) {
+                byte[] content = new byte[(int) imageSize.toBytes()];
+                new Random(id).nextBytes(content);
+                String key = "receipts/loadtest-" + id + ".jpg";
+                s3.put(bucket, key, content, "image/jpeg");
+
+                jdbcTemplate.update("UPDATE transactions SET img_url = ?, img_status = 1 WHERE id = ?",
+                        amazonS3.getUrl(bucket, key).toString(), id);
+            }
+        }
+    }
+
+    // 70% leituras de comprovante (esperam o S3), 30% listagens (só banco)
+    private void arrival(LatencyRecorder recorder, long intendedStart) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int index = random.nextInt(tokens.size());
+        String token = tokens.get(index);
+
+        try {
+            if (random.nextInt(100) < 70) {
+                List<Integer> ids = receipts.get(index);
+                send(recorder, "transactions.image-content", intendedStart,
+                        get("/transactions/" + ids.get(random.nextInt(ids.size())) + "/image/content", token));
+            } else {
+                send(recorder, "transactions.list", intendedStart,
+                        get("/transactions?page=" + random.nextInt(3) + "&size=20", token));
+            }
+        } catch (Exception e) {
+            recorder.recordFailure("error");
+        }
+    }
+
+    private void send(LatencyRecorder recorder, String endpoint, long intendedStart, HttpRequest request)
+            throws IOException, InterruptedException {
+        try {
+            HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            recorder.record(endpoint, intendedStart, response.statusCode());
+        } catch (IOException e) {
+            recorder.recordFailure(endpoint);
+            throw e;
+        }
+    }
+
+    private String login(String login) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(
+                        Map.of("login", login, "password", DatasetSeeder.PASSWORD))))
+                .build();
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private void writeReport(List<EndpointStats> stats, List<String> violations) throws IOException {
+        String mode = virtualThreads ? "virtual" : "platform";
+
+        System.out.printf("%nThreads %s: %.0f req/s por %s, Tomcat com %d threads, S3 com %dms de latência%n",
+                mode, rate, duration, tomcatThreads, s3Latency.toMillis());
+        System.out.printf("%-30s %8s %7s %9s %9s %9s %9s %9s%n", "endpoint", "reqs", "erros", "req/s", "p50", "p95", "p99", "max");
+        for (EndpointStats endpoint : stats) {
+            System.out.printf("%-30s %8d %7d %9.1f %8.1fms %8.1fms %8.1fms %8.1fms%n", endpoint.endpoint(), endpoint.requests(),
+                    endpoint.errors(), endpoint.throughput(), endpoint.p50Millis(), endpoint.p95Millis(), endpoint.p99Millis(),
+                    endpoint.maxMillis());
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("threads", mode);
+        report.put("rate", rate);
+        report.put("durationSeconds", duration.toSeconds());
+        report.put("tomcatThreads", tomcatThreads);
+        report.put("s3LatencyMillis", s3Latency.toMillis());
+        report.put("endpoints", stats);
+        report.put("violations", violations);
+
+        Path file = Path.of("target", "loadtest", "threads-" + mode + ".json");
+        Files.createDirectories(file.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+    }
+
+    private static S3Stub startStorage() {
+        try {
+            return S3Stub.start(Duration.parse(System.getProperty("loadtest.threads.s3-latency", "PT0.5S")));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,401 @@
+package com.financialboost.api.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financialboost.api.loadtest.DatasetSeeder.SeededUser;
+import com.financialboost.api.loadtest.LatencyRecorder.EndpointStats;
+import com.financialboost.api.repository.CategoryRepository;
+import com.financialboost.api.repository.UserBalanceRepository;
+import com.financialboost.api.repository.UserRepository;
+import com.financialboost.api.services.FileService;
+import com.financialboost.api.services.TransactionImportService;
+
+// Teste de carga ponta a ponta: sobe a API numa porta real contra um Postgres local, semeia a
+// massa sintética e repete os fluxos da coleção Postman a uma taxa fixa de chegadas.
+// Falha quando algum endpoint passa do orçamento declarado em loadtest-budgets.properties.
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.root=WARN",
+        // Todos os usuários saem do mesmo IP e a taxa é a do teste: o limitador por usuário só atrapalharia a medida
+        "api.rate-limit.enabled=false"
+    })
+class TransactionApiLoadIT {
+
+    private static final String DATABASE = "financialboost_loadtest";
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    // Banco recriado a cada execução (os dados da última ficam para inspeção)
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws Exception {
+        recreateDatabase(registry, DATABASE);
+    }
+
+    static void recreateDatabase(DynamicPropertyRegistry registry, String database) throws Exception {
+        String adminUrl = System.getProperty("loadtest.db.admin-url", "jdbc:postgresql://localhost:5435/postgres");
+        String user = System.getProperty("loadtest.db.user", System.getenv().getOrDefault("DB_USER", "root"));
+        String password = System.getProperty("loadtest.db.password", System.getenv().getOrDefault("DB_PASSWORD", "root"));
+
+        try (Connection connection = DriverManager.getConnection(adminUrl, user, password);
+                Statement statement = connection.createStatement()) {
+            statement.execute("DROP DATABASE IF EXISTS " + database + " WITH (FORCE)");
+            statement.execute("CREATE DATABASE " + database);
+        }
+
+        registry.add("spring.datasource.url", () -> adminUrl.substring(0, adminUrl.lastIndexOf('/') + 1) + database);
+        registry.add("spring.datasource.username", () -> user);
+        registry.add("spring.datasource.password", () -> password);
+    }
+
+    // Sem S3: os envios de comprovante vão para lugar nenhum, mas passam pela fila e pela
+    // deduplicação como em produção
+    @TestConfiguration
+    static class NoStorageConfiguration {
+
+        @Bean
+        @Primary
+        FileService loadTestFileService() {
+            return new FileService() {
+                @Override
+                public String uploadFile(Path file, String key, String contentType) {
+                    return "https://loadtest.invalid/" + key;
+                }
+
+                @Override
+                public void deleteFile(String key) {
+                }
+
+                @Override
+                public InputStream openFile(String key) {
+                    return null;
+                }
+
+                @Override
+                public ObjectInfo getObjectInfo(String key) {
+                    return null;
+                }
+            };
+        }
+    }
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    Environment environment;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    UserBalanceRepository userBalanceRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    TransactionImportService importService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PasswordEncoder passwordEncoder;
+
+    @Value("${loadtest.users:20}")
+    int users;
+
+    @Value("${loadtest.categories-per-user:10}")
+    int categoriesPerUser;
+
+    @Value("${loadtest.transactions-per-user:1000}")
+    int transactionsPerUser;
+
+    @Value("${loadtest.rate:50}")
+    double rate;
+
+    @Value("${loadtest.warmup:PT10S}")
+    Duration warmup;
+
+    @Value("${loadtest.duration:PT60S}")
+    Duration duration;
+
+    @Value("${loadtest.max-error-rate:0.01}")
+    double maxErrorRate;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    boolean virtualThreads;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(REQUEST_TIMEOUT).build();
+
+    private String baseUrl;
+
+    private List<SeededUser> seeded;
+
+    private List<String> tokens;
+
+    private byte[] receipt;
+
+    @Test
+    void transactionFlowsStayWithinLatencyBudgets() throws Exception {
+        baseUrl = "http://localhost:" + port;
+        seeded = new DatasetSeeder(userRepository, userBalanceRepository, categoryRepository, importService, jdbcTemplate, passwordEncoder)
+                .seed(users, categoriesPerUser, transactionsPerUser);
+        receipt = sampleReceipt();
+
+        tokens = new ArrayList<>();
+        for (SeededUser user : seeded) {
+            tokens.add(login(user.login()));
+        }
+
+        FixedRateLoadGenerator generator = new FixedRateLoadGenerator(rate);
+        generator.run(warmup, intendedStart -> arrival(new LatencyRecorder(), intendedStart));
+
+        LatencyRecorder recorder = new LatencyRecorder();
+        double elapsed = generator.run(duration, intendedStart -> arrival(recorder, intendedStart));
+        List<EndpointStats> stats = recorder.stats(elapsed);
+
+        List<String> violations = checkBudgets(stats);
+        writeReport(stats, violations);
+
+        assertTrue(violations.isEmpty(), "Orçamentos de latência estourados:\n" + String.join("\n", violations));
+    }
+
+    // Mistura de leitura e escrita na proporção aproximada de uso do app
+    private void arrival(LatencyRecorder recorder, long intendedStart) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int index = random.nextInt(seeded.size());
+        SeededUser user = seeded.get(index);
+        String token = tokens.get(index);
+        int dice = random.nextInt(100);
+
+        try {
+            if (dice < 5) {
+                send(recorder, "auth.login", intendedStart, json("/auth/login", "POST",
+                        Map.of("login", user.login(), "password", DatasetSeeder.PASSWORD), null));
+            } else if (dice < 40) {
+                send(recorder, "transactions.list", intendedStart,
+                        get("/transactions?page=" + random.nextInt(5) + "&size=20", token));
+            } else if (dice < 60) {
+                LocalDateTime to = LocalDateTime.now().withNano(0);
+                send(recorder, "transactions.filter", intendedStart, get("/transactions?page=0&size=20"
+                        + "&type=PIX&operation=NEGATIVE&valueMin=10&valueMax=4000"
+                        + "&categoryId=" + pick(user.categoryIds())
+                        + "&datetimeMin=" + to.minusMonths(6) + "&datetimeMax=" + to, token));
+            } else if (dice < 75) {
+                send(recorder, "transactions.get", intendedStart, get("/transactions/" + pick(user.transactionIds()), token));
+            } else if (dice < 85) {
+                send(recorder, "transactions.create-with-image", intendedStart, createWithImage(user, token));
+            } else if (dice < 95) {
+                send(recorder, "categories.list", intendedStart, get("/categories", token));
+            } else {
+                categoryLifecycle(recorder, intendedStart, token);
+            }
+        } catch (Exception e) {
+            recorder.recordFailure("error");
+        }
+    }
+
+    // Criar, renomear e remover: cada passo conta no seu endpoint
+    private void categoryLifecycle(LatencyRecorder recorder, long intendedStart, String token) throws Exception {
+        String name = "lt-" + UUID.randomUUID();
+        HttpResponse<String> created = send(recorder, "categories.create", intendedStart,
+                json("/categories", "POST", Map.of("name", name, "icon", "icon"), token));
+        if (created.statusCode() != 200) return;
+
+        int id = objectMapper.readTree(created.body()).get("id").asInt();
+        send(recorder, "categories.update", System.nanoTime(),
+                json("/categories/" + id, "PUT", Map.of("name", name + "-renomeada", "icon", "icon"), token));
+        send(recorder, "categories.delete", System.nanoTime(), HttpRequest.newBuilder(uri("/categories/" + id))
+                .timeout(REQUEST_TIMEOUT).header("Authorization", "Bearer " + token).DELETE().build());
+    }
+
+    private HttpRequest createWithImage(SeededUser user, String token) {
+        String boundary = "loadtest-" + UUID.randomUUID();
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("value", String.valueOf(ThreadLocalRandom.current().nextInt(1, 5_000)));
+        fields.put("operation", "NEGATIVE");
+        fields.put("type", "PIX");
+        fields.put("datetime", LocalDateTime.now().withNano(0).toString());
+        fields.put("categoryId", String.valueOf(pick(user.categoryIds())));
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            body.writeBytes(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + field.getKey()
+                    + "\"\r\n\r\n" + field.getValue() + "\r\n").getBytes(StandardCharsets.UTF_8));
+        }
+        body.writeBytes(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"image\"; filename=\"comprovante.jpg\""
+                + "\r\nContent-Type: image/jpeg\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(receipt);
+        body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+        return HttpRequest.newBuilder(uri("/transactions"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+    }
+
+    private HttpResponse<String> send(LatencyRecorder recorder, String endpoint, long intendedStart, HttpRequest request)
+            throws IOException, InterruptedException {
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            recorder.record(endpoint, intendedStart, response.statusCode());
+            return response;
+        } catch (IOException e) {
+            recorder.recordFailure(endpoint);
+            throw e;
+        }
+    }
+
+    private String login(String login) throws Exception {
+        HttpResponse<String> response = http.send(json("/auth/login", "POST",
+                Map.of("login", login, "password", DatasetSeeder.PASSWORD), null), HttpResponse.BodyHandlers.ofString());
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(uri(path)).timeout(REQUEST_TIMEOUT).header("Authorization", "Bearer " + token).GET().build();
+    }
+
+    private HttpRequest json(String path, String method, Map<String, String> body, String token) throws IOException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private static <T> T pick(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+
+    // Orçamentos no formato <endpoint>.<p50|p95|p99>=<duração>; -Dloadtest.budget.<...> sobrescreve
+    private List<String> checkBudgets(List<EndpointStats> stats) throws IOException {
+        Properties budgets = PropertiesLoaderUtils.loadProperties(new ClassPathResource("loadtest-budgets.properties"));
+        List<String> violations = new ArrayList<>();
+
+        for (EndpointStats endpoint : stats) {
+            Map<String, Double> observed = Map.of(
+                    "p50", endpoint.p50Millis(), "p95", endpoint.p95Millis(), "p99", endpoint.p99Millis());
+
+            for (Map.Entry<String, Double> percentile : observed.entrySet()) {
+                String key = endpoint.endpoint() + "." + percentile.getKey();
+                String budget = environment.getProperty("loadtest.budget." + key, budgets.getProperty(key));
+                if (budget == null) continue;
+
+                long limit = DurationStyle.detectAndParse(budget.trim()).toMillis();
+                if (percentile.getValue() > limit) {
+                    violations.add(String.format("%s = %.1fms > %dms", key, percentile.getValue(), limit));
+                }
+            }
+
+            if (endpoint.errorRate() > maxErrorRate) {
+                violations.add(String.format("%s: %.2f%% de erros > %.2f%%", endpoint.endpoint(),
+                        endpoint.errorRate() * 100, maxErrorRate * 100));
+            }
+        }
+        return violations;
+    }
+
+    private void writeReport(List<EndpointStats> stats, List<String> violations) throws IOException {
+        String mode = virtualThreads ? "virtual" : "platform";
+
+        System.out.printf("%nCarga: %.0f req/s por %s, threads %s, %d usuários x %d categorias x %d transações%n",
+                rate, duration, mode, users, categoriesPerUser, transactionsPerUser);
+        System.out.printf("%-34s %8s %7s %9s %9s %9s %9s %9s%n", "endpoint", "reqs", "erros", "req/s", "p50", "p95", "p99", "max");
+        for (EndpointStats endpoint : stats) {
+            System.out.printf("%-34s %8d %7d %9.1f %8.1fms %8.1fms %8.1fms %8.1fms%n", endpoint.endpoint(), endpoint.requests(),
+                    endpoint.errors(), endpoint.throughput(), endpoint.p50Millis(), endpoint.p95Millis(), endpoint.p99Millis(),
+                    endpoint.maxMillis());
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("threads", mode);
+        report.put("rate", rate);
+        report.put("durationSeconds", duration.toSeconds());
+        report.put("users", users);
+        report.put("categoriesPerUser", categoriesPerUser);
+        report.put("transactionsPerUser", transactionsPerUser);
+        report.put("endpoints", stats);
+        report.put("violations", violations);
+
+        Path file = Path.of("target", "loadtest", "report-" + mode + ".json");
+        Files.createDirectories(file.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+    }
+
+    // Foto de comprovante de ~1600x1200, redimensionada e com miniatura no envio
+    static byte[] sampleReceipt() throws IOException {
+        BufferedImage image = new BufferedImage(1600, 1200, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < 200; i++) {
+            graphics.setColor(new Color(random.nextInt(256), random.nextInt(256), random.nextInt(256)));
+            graphics.fillRect(random.nextInt(1600), random.nextInt(1200), random.nextInt(400) + 5, random.nextInt(300) + 5);
+        }
+        graphics.dispose();
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpeg", output);
+        return output.toByteArray();
+    }
+}
@@ -5,8 +5,11 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import com.amazonaws.auth.DefaultAWSCredentialsProviderChain;
+import com.amazonaws.client.builder.AwsClientBuilder.EndpointConfiguration;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.amazonaws.services.s3.transfer.TransferManager;
+import com.amazonaws.services.s3.transfer.TransferManagerBuilder;
 
 
 @Configuration
@@ -15,11 +18,37 @@ public class AWSConfig {
     @Value("${aws.region}")
     private String awsRegion;
 
+    // Vazio usa o S3 da AWS; preenchido aponta para um S3 compatível (MinIO, LocalStack) em dev/testes
+    @Value("${aws.endpoint:}")
+    private String awsEndpoint;
+
+    @Value("${aws.upload.multipart-threshold:16777216}")
+    private long multipartThreshold;
+
+    @Value("${aws.upload.part-size:8388608}")
+    private long partSize;
+
     @Bean
     public AmazonS3 createS3Client() {
-        return AmazonS3ClientBuilder.standard()
-                    .withCredentials(new DefaultAWSCredentialsProviderChain())
-                    .withRegion(awsRegion)
+        AmazonS3ClientBuilder builder = AmazonS3ClientBuilder.standard()
+                    .withCredentials(new DefaultAWSCredentialsProviderChain());
+
+        if (awsEndpoint.isBlank()) {
+            builder.withRegion(awsRegion);
+        } else {
+            builder.withEndpointConfiguration(new EndpointConfiguration(awsEndpoint, awsRegion))
+                    .withPathStyleAccessEnabled(true);
+        }
+
+        return builder.build();
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public TransferManager createTransferManager(AmazonS3 s3Client) {
+        return TransferManagerBuilder.standard()
+                    .withS3Client(s3Client)
+                    .withMultipartUploadThreshold(multipartThreshold)
+                    .withMinimumUploadPartSize(partSize)
                     .build();
-    } 
+    }
 }
@@ -0,0 +1,93 @@
+package com.financialboost.api.controllers;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.financialboost.api.infra.concurrency.AdaptiveConcurrencyLimiter;
+import com.financialboost.api.infra.concurrency.AdaptiveConcurrencyLimiter.ConcurrencyLimitStats;
+import com.financialboost.api.infra.ratelimit.RateLimiter;
+import com.financialboost.api.infra.ratelimit.RateLimiter.RateLimitStats;
+import com.financialboost.api.infra.ratelimit.RouteGroup;
+import com.financialboost.api.infra.security.VerifiedTokenCache;
+import com.financialboost.api.infra.security.VerifiedTokenCache.TokenCacheStats;
+import com.financialboost.api.services.CategoryCacheService;
+import com.financialboost.api.services.CategoryCacheService.CategoryCacheStats;
+import com.financialboost.api.services.ImageCacheService;
+import com.financialboost.api.services.ImageCacheService.ImageCacheStats;
+import com.financialboost.api.services.ImageProcessingService;
+import com.financialboost.api.services.ImageProcessingService.ImageProcessingStats;
+import com.financialboost.api.services.TransactionSummaryService;
+
+@RestController
+@RequestMapping("admin")
+public class AdminController {
+
+    @Autowired
+    VerifiedTokenCache tokenCache;
+
+    @Autowired
+    TransactionSummaryService summaryService;
+
+    @Autowired
+    ImageProcessingService imageProcessingService;
+
+    @Autowired
+    ImageCacheService imageCacheService;
+
+    @Autowired
+    CategoryCacheService categoryCacheService;
+
+    @Autowired
+    RateLimiter rateLimiter;
+
+    @Autowired
+    AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    @GetMapping("/stats/token-cache")
+    public ResponseEntity<TokenCacheStats> getTokenCacheStats() {
+        return ResponseEntity.ok(tokenCache.stats());
+    }
+
+    @GetMapping("/stats/images")
+    public ResponseEntity<ImageProcessingStats> getImageProcessingStats() {
+        return ResponseEntity.ok(imageProcessingService.stats());
+    }
+
+    @GetMapping("/stats/image-cache")
+    public ResponseEntity<ImageCacheStats> getImageCacheStats() {
+        return ResponseEntity.ok(imageCacheService.stats());
+    }
+
+    @GetMapping("/stats/category-cache")
+    public ResponseEntity<CategoryCacheStats> getCategoryCacheStats() {
+        return ResponseEntity.ok(categoryCacheService.stats());
+    }
+
+    @GetMapping("/stats/rate-limit")
+    public ResponseEntity<Map<RouteGroup, RateLimitStats>> getRateLimitStats() {
+        return ResponseEntity.ok(rateLimiter.stats());
+    }
+
+    @GetMapping("/stats/concurrency")
+    public ResponseEntity<ConcurrencyLimitStats> getConcurrencyStats() {
+        return ResponseEntity.ok(concurrencyLimiter.stats());
+    }
+
+    @PostMapping("/summaries/rebuild")
+    public ResponseEntity<?> rebuildSummaries() throws InterruptedException {
+        long start = System.currentTimeMillis();
+        int users = summaryService.rebuildAll();
+
+        if (users < 0) {
+            return ResponseEntity.status(409).body("Recomputação já em andamento");
+        }
+
+        return ResponseEntity.ok(Map.of("users", users, "elapsedMillis", System.currentTimeMillis() - start));
+    }
+}
@@ -1,20 +1,28 @@
 package com.financialboost.api.controllers;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.financialboost.api.domain.balance.UserBalance;
 import com.financialboost.api.domain.user.AuthenticationDTO;
 import com.financialboost.api.domain.user.LoginResponseDTO;
 import com.financialboost.api.domain.user.RegisterDTO;
 import com.financialboost.api.domain.user.User;
+import com.financialboost.api.infra.security.TokenRevocationRegistry;
 import com.financialboost.api.infra.security.TokenService;
+import com.financialboost.api.repository.UserBalanceRepository;
 import com.financialboost.api.repository.UserRepository;
 
 @RestController
@@ -30,6 +38,12 @@ public class AuthenticationController {
     @Autowired
     private TokenService tokenService;
 
+    @Autowired
+    private TokenRevocationRegistry revocationRegistry;
+
+    @Autowired
+    private UserBalanceRepository userBalanceRepository;
+
     @PostMapping("/login")
     public ResponseEntity<LoginResponseDTO> login(@RequestBody AuthenticationDTO body){
         var usernamePassword = new UsernamePasswordAuthenticationToken(body.login(), body.password());
@@ -41,6 +55,7 @@ public class AuthenticationController {
     }
 
     @PostMapping("/register")
+    @Transactional
     public ResponseEntity<?> register(@RequestBody RegisterDTO body) {
         if(this.repository.findByLogin(body.login()) != null) return ResponseEntity.badRequest().build();
 
@@ -48,7 +63,22 @@ public class AuthenticationController {
         User newUser = new User(body.login(), encryptedPassword, body.role(), body.picture());
 
         this.repository.save(newUser);
+        this.userBalanceRepository.save(new UserBalance(newUser.getId(), BigDecimal.ZERO, LocalDateTime.now()));
 
         return ResponseEntity.ok().build();
     }
+
+    // Invalida todos os tokens já emitidos para o usuário autenticado
+    @PostMapping("/logout")
+    @Transactional
+    public ResponseEntity<?> logout() {
+        User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        LocalDateTime revokedAt = LocalDateTime.now();
+
+        this.repository.incrementTokenVersion(user.getId(), revokedAt);
+        int tokenVersion = this.repository.findTokenVersion(user.getId());
+        this.revocationRegistry.revoke(user.getId(), tokenVersion, revokedAt);
+
+        return ResponseEntity.noContent().build(); // 204
+    }
 }
@@ -0,0 +1,36 @@
+package com.financialboost.api.controllers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.financialboost.api.domain.balance.BalanceResponseDTO;
+import com.financialboost.api.domain.user.User;
+import com.financialboost.api.services.BalanceService;
+
+@RestController
+@RequestMapping("balances")
+public class BalanceController {
+    @Autowired
+    BalanceService balanceService;
+
+    @GetMapping
+    public ResponseEntity<BalanceResponseDTO> getBalance(@RequestParam(required = false) LocalDateTime datetime) {
+        User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+
+        if (datetime == null) {
+            BigDecimal balance = balanceService.getCurrentBalance(user.getId());
+            return ResponseEntity.ok(new BalanceResponseDTO(balance.toString(), LocalDateTime.now().toString()));
+        }
+
+        BigDecimal balance = balanceService.getBalanceAt(user.getId(), datetime);
+        return ResponseEntity.ok(new BalanceResponseDTO(balance.toString(), datetime.toString()));
+    }
+}
@@ -13,6 +13,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import com.financialboost.api.domain.category.Category;
 import com.financialboost.api.domain.category.CategoryRequestDTO;
@@ -20,6 +21,8 @@ import com.financialboost.api.domain.category.CategoryResponseDTO;
 import com.financialboost.api.domain.category.CategoryUpdateDTO;
 import com.financialboost.api.domain.user.User;
 import com.financialboost.api.repository.CategoryRepository;
+import com.financialboost.api.services.CategoryCacheService;
+import com.financialboost.api.services.DataVersionService;
 
 @RestController
 @RequestMapping("categories")
@@ -27,6 +30,12 @@ public class CategoryController {
     @Autowired
     CategoryRepository repository;
 
+    @Autowired
+    CategoryCacheService categoryCache;
+
+    @Autowired
+    DataVersionService dataVersions;
+
     @PostMapping
     public ResponseEntity<CategoryResponseDTO> createCategory(@RequestBody CategoryRequestDTO body) {
         User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
@@ -34,27 +43,31 @@ public class CategoryController {
         Category newCategory = new Category(body.name(), body.icon(), user);
 
         this.repository.save(newCategory);
+        categoryCache.evict(user.getId());
+        dataVersions.bump(user.getId());
         return ResponseEntity.ok(new CategoryResponseDTO(newCategory));
     }
 
     @GetMapping
-    public ResponseEntity<List<CategoryResponseDTO>> getAllCategoies() {
+    public ResponseEntity<List<CategoryResponseDTO>> getAllCategoies(ServletWebRequest request) {
         User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
 
-        List<CategoryResponseDTO> categoryList = 
-            this.repository.findByUserId(user.getId())
-                        .stream()
-                        .map(CategoryResponseDTO::new)
-                        .toList();
+        if (dataVersions.checkNotModified(user.getId(), request)) {
+            return null;
+        }
 
-        return ResponseEntity.ok(categoryList);
+        return ResponseEntity.ok(categoryCache.findByUser(user.getId()));
     }
 
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> getCategoryById(@PathVariable Integer id) {
+    public ResponseEntity<?> getCategoryById(@PathVariable Integer id, ServletWebRequest request) {
         User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
 
+        if (dataVersions.checkNotModified(user.getId(), request)) {
+            return null;
+        }
+
         Category category = repository.findById(id)
             .filter(c -> c.getUser().getId().equals(user.getId()))
             .orElse(null);
@@ -87,6 +100,8 @@ public class CategoryController {
         }
 
         repository.save(category);
+        categoryCache.evict(user.getId());
+        dataVersions.bump(user.getId());
         return ResponseEntity.ok(new CategoryResponseDTO(category));
     }
 
@@ -103,6 +118,8 @@ public class CategoryController {
         }
 
         repository.delete(category);
+        categoryCache.evict(user.getId());
+        dataVersions.bump(user.getId());
         return ResponseEntity.noContent().build(); // 204
     }
 }
@@ -0,0 +1,46 @@
+package com.financialboost.api.controllers;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.financialboost.api.domain.sync.SyncCursor;
+import com.financialboost.api.domain.user.User;
+import com.financialboost.api.services.SyncService;
+
+@RestController
+@RequestMapping("sync")
+public class SyncController {
+
+    private static final int MAX_LIMIT = 1000;
+
+    @Autowired
+    SyncService syncService;
+
+    // Sem "since" devolve tudo desde o início; o cliente guarda o cursor da última resposta
+    @GetMapping
+    public ResponseEntity<?> sync(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "500") int limit) {
+        User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+
+        if (limit < 1 || limit > MAX_LIMIT) {
+            return ResponseEntity.badRequest().body("Limite inválido");
+        }
+
+        SyncCursor cursor = SyncCursor.START;
+        if (since != null && !since.isBlank()) {
+            try {
+                cursor = SyncCursor.decode(since);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body("Cursor inválido");
+            }
+        }
+
+        return ResponseEntity.ok(syncService.changesSince(user.getId(), cursor, limit));
+    }
+}
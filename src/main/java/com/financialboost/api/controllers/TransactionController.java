@@ -4,33 +4,72 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
 
 import com.financialboost.api.domain.category.Category;
+import com.financialboost.api.domain.exports.ExportFormat;
+import com.financialboost.api.domain.imports.ImportFormat;
+import com.financialboost.api.domain.imports.ImportResultDTO;
+import com.financialboost.api.domain.summary.TransactionSummaryDTO;
+import com.financialboost.api.domain.transaction.PresignedUploadDTO;
 import com.financialboost.api.domain.transaction.Transaction;
 import com.financialboost.api.domain.transaction.Transaction.Operation;
 import com.financialboost.api.domain.transaction.Transaction.TransactionType;
+import com.financialboost.api.domain.transaction.TransactionBulkRequestDTO;
+import com.financialboost.api.domain.transaction.TransactionBulkResultDTO;
+import com.financialboost.api.domain.transaction.TransactionCursor;
+import com.financialboost.api.domain.transaction.TransactionCursorPageDTO;
+import com.financialboost.api.domain.transaction.TransactionFilter;
+import com.financialboost.api.domain.transaction.TransactionImageStatusDTO;
 import com.financialboost.api.domain.transaction.TransactionRequestDTO;
 import com.financialboost.api.domain.transaction.TransactionResponseDTO;
+import com.financialboost.api.domain.transaction.TransactionState;
 import com.financialboost.api.domain.transaction.TransactionUpdateDTO;
 import com.financialboost.api.domain.user.User;
 import com.financialboost.api.repository.CategoryRepository;
 import com.financialboost.api.repository.TransactionRepository;
+import com.financialboost.api.repository.TransactionSpecifications;
+import com.financialboost.api.services.BalanceService;
+import com.financialboost.api.services.DataVersionService;
 import com.financialboost.api.services.FileService;
+import com.financialboost.api.services.ImageCacheService;
+import com.financialboost.api.services.ReceiptUploadService;
+import com.financialboost.api.services.ReceiptUploadService.PendingReceipt;
+import com.financialboost.api.services.TransactionBulkService;
+import com.financialboost.api.services.TransactionExportService;
+import com.financialboost.api.services.TransactionImportService;
+import com.financialboost.api.services.TransactionSummaryService;
+import com.financialboost.api.services.images.CachedFileResponse;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 @RestController
 @RequestMapping("transactions")
@@ -41,14 +80,45 @@ public class TransactionController {
     @Autowired
     CategoryRepository categoryRepository;
 
+    @Autowired
+    ReceiptUploadService receiptUploadService;
+
+    @Autowired
+    BalanceService balanceService;
+
+    @Autowired
+    TransactionSummaryService summaryService;
+
+    @Autowired
+    TransactionImportService importService;
+
+    @Autowired
+    TransactionExportService exportService;
+
+    @Autowired
+    TransactionBulkService bulkService;
+
     @Autowired
     FileService fileService;
 
+    @Autowired
+    ImageCacheService imageCacheService;
+
+    @Autowired
+    DataVersionService dataVersions;
+
     private User getAuthenticatedUser() {
         return (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
     }
 
+    private ResponseEntity<?> receiptQueueFull() {
+        return ResponseEntity.status(503)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body("Fila de envio de comprovantes cheia, tente novamente em instantes");
+    }
+
     @PostMapping(consumes = "multipart/form-data")
+    @Transactional
     public ResponseEntity<?> createTransaction(@ModelAttribute TransactionRequestDTO body) {
         User user = getAuthenticatedUser();
 
@@ -60,13 +130,26 @@ public class TransactionController {
             return ResponseEntity.status(404).body("Categoria não encontrada");
         }
 
-        String imgUrl = null;
-        if (body.image() != null && !body.image().isEmpty()) {
+        boolean hasImage = body.image() != null && !body.image().isEmpty();
+        if (hasImage && body.imageKey() != null) {
+            return ResponseEntity.badRequest().body("Envie image ou imageKey, não ambos");
+        }
+
+        PendingReceipt receipt = null;
+        if (hasImage || body.imageKey() != null) {
             try {
-                imgUrl = fileService.saveFile(body.image());
+                receipt = hasImage
+                        ? receiptUploadService.spool(body.image())
+                        : receiptUploadService.fromStorage(user.getId(), body.imageKey());
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
             } catch (IOException e) {
                 return ResponseEntity.status(500).body("Erro ao salvar imagem: " + e.getMessage());
             }
+
+            if (receipt == null) {
+                return receiptQueueFull();
+            }
         }
 
         Transaction transaction = new Transaction(
@@ -76,118 +159,388 @@ public class TransactionController {
             body.datetime(),
             category,
             user,
-            imgUrl
+            null
         );
 
+        if (receipt != null) {
+            transaction.markImagePending();
+        }
+
         repository.save(transaction);
+        if (receipt != null) {
+            receipt.attachTo(transaction);
+        }
+        balanceService.registerCreated(transaction);
+        summaryService.registerCreated(transaction);
+        dataVersions.bump(user.getId());
         return ResponseEntity.ok(new TransactionResponseDTO(transaction));
     }
 
+    // URL assinada para enviar o comprovante direto ao S3; a chave volta como imageKey
+    @PostMapping("/images/presign")
+    public ResponseEntity<PresignedUploadDTO> presignImageUpload(@RequestParam(defaultValue = "image/jpeg") String contentType) {
+        User user = getAuthenticatedUser();
+        return ResponseEntity.ok(receiptUploadService.presign(user.getId(), contentType));
+    }
+
+    @PostMapping(value = "/import", consumes = "multipart/form-data")
+    public ResponseEntity<?> importTransactions(
+            @RequestParam MultipartFile file,
+            @RequestParam(required = false) ImportFormat format,
+            @RequestParam(required = false) Integer categoryId,
+            @RequestParam(defaultValue = "PIX") TransactionType type) {
+        User user = getAuthenticatedUser();
+
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().body("Arquivo vazio");
+        }
+
+        if (categoryId != null && categoryRepository.findById(categoryId)
+                .filter(c -> c.getUser().getId().equals(user.getId()))
+                .isEmpty()) {
+            return ResponseEntity.status(404).body("Categoria não encontrada");
+        }
+
+        ImportFormat resolvedFormat = format != null ? format : ImportFormat.fromFilename(file.getOriginalFilename());
+
+        try (InputStream input = file.getInputStream()) {
+            ImportResultDTO result = importService.importStatement(user.getId(), input, resolvedFormat, categoryId, type);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IOException e) {
+            return ResponseEntity.status(500).body("Erro ao ler arquivo: " + e.getMessage());
+        } finally {
+            // Cada lote é commitado sozinho: mesmo num erro no meio do arquivo algo já pode ter entrado
+            dataVersions.bump(user.getId());
+        }
+    }
+
     @GetMapping
-    public ResponseEntity<Page<TransactionResponseDTO>> getAllTransactions(
+    public ResponseEntity<?> getAllTransactions(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "offset") String pagination,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
             @RequestParam(required = false) TransactionType type,
             @RequestParam(required = false) Integer categoryId,
             @RequestParam(required = false) Operation operation,
             @RequestParam(required = false) BigDecimal valueMin,
             @RequestParam(required = false) BigDecimal valueMax,
             @RequestParam(required = false) LocalDateTime datetimeMin,
-            @RequestParam(required = false) LocalDateTime datetimeMax
+            @RequestParam(required = false) LocalDateTime datetimeMax,
+            ServletWebRequest request
             ) {
         User user = getAuthenticatedUser();
 
+        if (dataVersions.checkNotModified(user.getId(), request)) {
+            return null;
+        }
+
+        TransactionFilter filter = new TransactionFilter(
+                user.getId(), type, categoryId, operation, valueMin, valueMax, datetimeMin, datetimeMax
+                );
+
+        if ("cursor".equals(pagination) || cursor != null) {
+            return getTransactionsByCursor(filter, cursor, size, includeTotal);
+        }
+
         Pageable pageable = PageRequest.of(page, size);
-        Page<Transaction> transactionPage = this.repository.findByFilters(
-                user.getId(), type, categoryId, operation, valueMin, valueMax, datetimeMin, datetimeMax, pageable
+        Page<TransactionResponseDTO> transactionResponsePage = this.repository.findResponses(
+                TransactionSpecifications.byFilter(filter), pageable
                 );
-        Page<TransactionResponseDTO> transactionResponsePage = transactionPage.map(TransactionResponseDTO::new);
 
         return ResponseEntity.ok(transactionResponsePage);
     }
 
+    private ResponseEntity<?> getTransactionsByCursor(TransactionFilter filter, String cursor, int size, boolean includeTotal) {
+        if (size < 1) {
+            return ResponseEntity.badRequest().body("Tamanho de página inválido");
+        }
+
+        Specification<Transaction> spec = TransactionSpecifications.byFilter(filter);
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                spec = spec.and(TransactionSpecifications.after(TransactionCursor.decode(cursor)));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body("Cursor inválido");
+            }
+        }
+
+        // Busca um registro a mais só para saber se existe próxima página
+        List<TransactionResponseDTO> transactions = this.repository.findResponses(
+                spec, TransactionSpecifications.NEWEST_FIRST, size + 1
+                );
+
+        boolean hasNext = transactions.size() > size;
+        if (hasNext) {
+            transactions = transactions.subList(0, size);
+        }
+
+        String nextCursor = hasNext
+                ? new TransactionCursor(transactions.get(transactions.size() - 1)).encode()
+                : null;
+        Long totalElements = includeTotal
+                ? this.repository.count(TransactionSpecifications.byFilter(filter))
+                : null;
+
+        return ResponseEntity.ok(new TransactionCursorPageDTO(transactions, nextCursor, transactions.size(), totalElements));
+    }
+
+    // Totais e quantidades por mês/categoria/operação lidos do rollup transaction_summaries
+    @GetMapping("/summary")
+    public ResponseEntity<?> getSummary(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth to
+            ) {
+        User user = getAuthenticatedUser();
+
+        if (from.isAfter(to)) {
+            return ResponseEntity.badRequest().body("Período inválido");
+        }
+
+        List<TransactionSummaryDTO> summary = summaryService.getSummary(user.getId(), from, to);
+        return ResponseEntity.ok(summary);
+    }
+
+    // Histórico completo com os mesmos filtros da listagem, escrito direto no corpo da resposta
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) Integer categoryId,
+            @RequestParam(required = false) Operation operation,
+            @RequestParam(required = false) BigDecimal valueMin,
+            @RequestParam(required = false) BigDecimal valueMax,
+            @RequestParam(required = false) LocalDateTime datetimeMin,
+            @RequestParam(required = false) LocalDateTime datetimeMax
+            ) {
+        User user = getAuthenticatedUser();
+        TransactionFilter filter = new TransactionFilter(
+                user.getId(), type, categoryId, operation, valueMin, valueMax, datetimeMin, datetimeMax
+                );
+
+        StreamingResponseBody body = output -> exportService.export(filter, format, output);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"transacoes." + format.getExtension() + "\"")
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .body(body);
+    }
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> getTransactionById(@PathVariable Integer id) {
+    public ResponseEntity<?> getTransactionById(@PathVariable Integer id, ServletWebRequest request) {
         User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
 
-        Transaction transaction = repository.findById(id)
-            .filter(c -> c.getUser().getId().equals(user.getId()))
+        if (dataVersions.checkNotModified(user.getId(), request)) {
+            return null;
+        }
+
+        TransactionResponseDTO transaction = repository.findResponseByIdAndUserId(id, user.getId())
             .orElse(null);
 
         if (transaction == null) {
             return ResponseEntity.status(404).body("Categoria não encontrada");
         }
 
-        return ResponseEntity.ok(new TransactionResponseDTO(transaction));
+        return ResponseEntity.ok(transaction);
     }
 
-    @PutMapping(value = "/{id}", consumes = "multipart/form-data")
-    public ResponseEntity<?> updateTransaction(@PathVariable Integer id, @ModelAttribute TransactionUpdateDTO body) {
+    // Estado do envio assíncrono do comprovante (PENDING, UPLOADED ou FAILED)
+    @GetMapping("/{id}/image")
+    public ResponseEntity<?> getImageStatus(@PathVariable Integer id) {
         User user = getAuthenticatedUser();
 
-        Transaction transaction = repository.findById(id)
-            .filter(t -> t.getUser().getId().equals(user.getId()))
+        TransactionImageStatusDTO status = repository.findImageStatusByIdAndUserId(id, user.getId())
             .orElse(null);
 
-        if (transaction == null) {
+        if (status == null) {
             return ResponseEntity.status(404).body("Transação não encontrada");
         }
 
-        if (body.value() != null) {
-            transaction.setValue(body.value());
+        return ResponseEntity.ok(status);
+    }
+
+    // Conteúdo do comprovante (ou da miniatura) servido pelo cache em disco na frente do S3
+    @GetMapping("/{id}/image/content")
+    public ResponseEntity<?> getImageContent(
+            @PathVariable Integer id,
+            @RequestParam(defaultValue = "false") boolean thumbnail,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        User user = getAuthenticatedUser();
+
+        TransactionImageStatusDTO status = repository.findImageStatusByIdAndUserId(id, user.getId())
+            .orElse(null);
+
+        if (status == null) {
+            return ResponseEntity.status(404).body("Transação não encontrada");
         }
 
-        if (body.operation() != null) {
-            transaction.setOperation(body.operation());
+        String key = fileService.keyFromUrl(thumbnail ? status.thumbnailUrl() : status.imgUrl());
+        ImageCacheService.CachedFile file = key != null ? imageCacheService.open(key) : null;
+
+        if (file == null) {
+            return ResponseEntity.status(404).body("Imagem não encontrada");
         }
 
-        if (body.type() != null) {
-            transaction.setType(body.type());
+        // A chave já identifica o conteúdo (digest ou UUID), então serve de ETag
+        String name = key.substring(key.lastIndexOf('/') + 1);
+        String etag = "\"" + name.replaceAll("[^A-Za-z0-9._-]", "_") + "\"";
+        String contentType = MediaTypeFactory.getMediaType(name)
+            .orElse(MediaType.APPLICATION_OCTET_STREAM)
+            .toString();
+
+        try (file) {
+            CachedFileResponse.write(file, etag, contentType, request, response);
         }
+        return null;
+    }
 
-        if (body.datetime() != null) {
-            transaction.setDatetime(body.datetime());
+    @PutMapping(value = "/{id}", consumes = "multipart/form-data")
+    @Transactional
+    public ResponseEntity<?> updateTransaction(@PathVariable Integer id, @ModelAttribute TransactionUpdateDTO body) {
+        User user = getAuthenticatedUser();
+
+        Transaction transaction = repository.findByIdAndUserId(id, user.getId())
+            .orElse(null);
+
+        if (transaction == null) {
+            return ResponseEntity.status(404).body("Transação não encontrada");
         }
 
+        // Resolve a categoria e o comprovante antes de alterar a entidade gerenciada
+        Category category = null;
         if (body.categoryId() != null) {
-            Category category = categoryRepository.findById(body.categoryId())
+            category = categoryRepository.findById(body.categoryId())
                     .filter(c -> c.getUser().getId().equals(user.getId()))
                     .orElse(null);
 
             if (category == null) {
                 return ResponseEntity.status(404).body("Categoria não encontrada");
             }
+        }
 
-            transaction.setCategory(category);
+        boolean hasImage = body.image() != null && !body.image().isEmpty();
+        if (hasImage && body.imageKey() != null) {
+            return ResponseEntity.badRequest().body("Envie image ou imageKey, não ambos");
         }
 
-        if (body.image() != null && !body.image().isEmpty()) {
+        PendingReceipt receipt = null;
+        if (hasImage || body.imageKey() != null) {
             try {
-                String imgUrl = fileService.saveFile(body.image());
-                transaction.setImgUrl(imgUrl);
+                receipt = hasImage
+                        ? receiptUploadService.spool(body.image())
+                        : receiptUploadService.fromStorage(user.getId(), body.imageKey());
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
             } catch (IOException e) {
                 return ResponseEntity.status(500).body("Erro ao salvar imagem: " + e.getMessage());
             }
+
+            if (receipt == null) {
+                return receiptQueueFull();
+            }
+        }
+
+        TransactionState previous = new TransactionState(transaction);
+
+        if (body.value() != null) {
+            transaction.setValue(body.value());
+        }
+
+        if (body.operation() != null) {
+            transaction.setOperation(body.operation());
+        }
+
+        if (body.type() != null) {
+            transaction.setType(body.type());
+        }
+
+        if (body.datetime() != null) {
+            transaction.setDatetime(body.datetime());
+        }
+
+        if (category != null) {
+            transaction.setCategory(category);
+        }
+
+        if (receipt != null) {
+            transaction.markImagePending();
+            receipt.attachTo(transaction);
         }
 
         repository.save(transaction);
+        balanceService.registerUpdated(previous, transaction);
+        summaryService.registerUpdated(previous, transaction);
+        dataVersions.bump(user.getId());
         return ResponseEntity.ok(new TransactionResponseDTO(transaction));
     }
 
     @DeleteMapping("/{id}")
+    @Transactional
     public ResponseEntity<?> deleteTransaction(@PathVariable Integer id) {
         User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
 
-        Transaction transaction = repository.findById(id)
-            .filter(c -> c.getUser().getId().equals(user.getId()))
-            .orElse(null);
+        // DELETE com o dono no WHERE: sem carregar a entidade antes
+        int deleted = bulkService.delete(ownedBy(user), List.of(id));
 
-        if (transaction == null) {
-            return ResponseEntity.status(404).body("Categoria não encontrada");
+        if (deleted == 0) {
+            return ResponseEntity.status(404).body("Transação não encontrada");
         }
 
-        repository.delete(transaction);
+        dataVersions.bump(user.getId());
         return ResponseEntity.noContent().build(); // 204
     }
+
+    // Remove de uma vez as transações selecionadas por ids e/ou filtro
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<?> bulkDelete(@RequestBody TransactionBulkRequestDTO body) {
+        User user = getAuthenticatedUser();
+
+        if (!hasSelection(body)) {
+            return ResponseEntity.badRequest().body("Informe ids ou ao menos um filtro");
+        }
+
+        int deleted = bulkService.delete(bulkFilter(user, body), body.ids());
+        if (deleted > 0) {
+            dataVersions.bump(user.getId());
+        }
+        return ResponseEntity.ok(new TransactionBulkResultDTO(deleted));
+    }
+
+    // Move para categoryId as transações selecionadas por ids e/ou filtro
+    @PostMapping("/bulk/recategorize")
+    public ResponseEntity<?> bulkRecategorize(@RequestBody TransactionBulkRequestDTO body) {
+        User user = getAuthenticatedUser();
+
+        if (!hasSelection(body)) {
+            return ResponseEntity.badRequest().body("Informe ids ou ao menos um filtro");
+        }
+
+        if (body.categoryId() == null || categoryRepository.findById(body.categoryId())
+                .filter(c -> c.getUser().getId().equals(user.getId()))
+                .isEmpty()) {
+            return ResponseEntity.status(404).body("Categoria não encontrada");
+        }
+
+        int updated = bulkService.recategorize(bulkFilter(user, body), body.ids(), body.categoryId());
+        if (updated > 0) {
+            dataVersions.bump(user.getId());
+        }
+        return ResponseEntity.ok(new TransactionBulkResultDTO(updated));
+    }
+
+    // Sem ids nem filtro a operação alcançaria todas as transações do usuário
+    private boolean hasSelection(TransactionBulkRequestDTO body) {
+        return body.ids() != null || (body.filter() != null && !body.filter().isEmpty());
+    }
+
+    private TransactionFilter bulkFilter(User user, TransactionBulkRequestDTO body) {
+        return body.filter() != null ? body.filter().toFilter(user.getId()) : ownedBy(user);
+    }
+
+    private TransactionFilter ownedBy(User user) {
+        return new TransactionFilter(user.getId(), null, null, null, null, null, null, null);
+    }
 }
@@ -1,12 +1,13 @@
 package com.financialboost.api.domain.balance;
 
-import java.math.BigInteger;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 import com.financialboost.api.domain.user.User;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -18,6 +19,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+// Snapshot do saldo: soma de todas as transações do usuário com datetime anterior a "datetime"
 @Entity
 @Table(name = "balances")
 @Getter
@@ -26,16 +28,23 @@ import lombok.Setter;
 @NoArgsConstructor
 public class Balance {
 
+    public Balance(BigDecimal value, LocalDateTime datetime, User user) {
+        this.value = value;
+        this.datetime = datetime;
+        this.user = user;
+    }
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
 
-    private BigInteger value;
+    @Column(name = "balance", nullable = false)
+    private BigDecimal value;
 
     @Column(nullable = false)
     private LocalDateTime datetime;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
-}
\ No newline at end of file
+}
@@ -0,0 +1,6 @@
+package com.financialboost.api.domain.balance;
+
+public record BalanceResponseDTO(
+    String balance,
+    String datetime
+) {}
@@ -0,0 +1,33 @@
+package com.financialboost.api.domain.balance;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Saldo corrente por usuário, atualizado junto com cada escrita em transactions
+@Entity
+@Table(name = "user_balances")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserBalance {
+
+    @Id
+    private UUID userId;
+
+    @Column(nullable = false)
+    private BigDecimal balance;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,6 @@
+package com.financialboost.api.domain.imports;
+
+public record ImportErrorDTO(
+    long line,
+    String message
+) {}
@@ -0,0 +1,11 @@
+package com.financialboost.api.domain.imports;
+
+public enum ImportFormat {
+    CSV,
+    OFX;
+
+    public static ImportFormat fromFilename(String filename) {
+        if (filename != null && filename.toLowerCase().endsWith(".ofx")) return OFX;
+        return CSV;
+    }
+}
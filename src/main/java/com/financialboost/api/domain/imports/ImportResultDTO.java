@@ -0,0 +1,9 @@
+package com.financialboost.api.domain.imports;
+
+import java.util.List;
+
+public record ImportResultDTO(
+    long imported,
+    long failed,
+    List<ImportErrorDTO> errors
+) {}
@@ -0,0 +1,22 @@
+package com.financialboost.api.domain.imports;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.financialboost.api.domain.transaction.Transaction.Operation;
+import com.financialboost.api.domain.transaction.Transaction.TransactionType;
+
+// Linha lida do extrato; "error" preenchido quando a linha não pôde ser interpretada
+public record ImportedRow(
+    long line,
+    LocalDateTime datetime,
+    BigDecimal value,
+    Operation operation,
+    TransactionType type,
+    String category,
+    String error
+) {
+    public static ImportedRow failed(long line, String error) {
+        return new ImportedRow(line, null, null, null, null, null, error);
+    }
+}
@@ -0,0 +1,45 @@
+package com.financialboost.api.domain.storage;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Comprovante já enviado ao S3, identificado pelo SHA-256 do conteúdo original
+@Entity
+@Table(name = "stored_files")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class StoredFile {
+
+    @Id
+    private String digest;
+
+    @Column(nullable = false)
+    private String objectKey;
+
+    @Column(nullable = false)
+    private String url;
+
+    private String thumbnailKey;
+
+    private String thumbnailUrl;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // Renovado a cada reaproveitamento; a coleta só remove arquivos parados além da carência
+    @Column(nullable = false)
+    private LocalDateTime lastUsedAt;
+}
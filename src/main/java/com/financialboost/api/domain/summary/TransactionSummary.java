@@ -0,0 +1,31 @@
+package com.financialboost.api.domain.summary;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Rollup de transactions por (usuário, mês, categoria, operação)
+@Entity
+@Table(name = "transaction_summaries")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransactionSummary {
+
+    @EmbeddedId
+    private TransactionSummaryId id;
+
+    @Column(nullable = false)
+    private BigDecimal total;
+
+    @Column(nullable = false)
+    private Integer count;
+}
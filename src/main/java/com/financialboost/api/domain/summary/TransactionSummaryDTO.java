@@ -0,0 +1,20 @@
+package com.financialboost.api.domain.summary;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import com.financialboost.api.domain.transaction.Transaction.Operation;
+
+public record TransactionSummaryDTO(
+    String month,
+    Integer categoryId,
+    String categoryName,
+    Operation operation,
+    String total,
+    Integer count
+) {
+    public TransactionSummaryDTO(LocalDate month, Integer categoryId, String categoryName, Operation operation, BigDecimal total, Integer count) {
+        this(YearMonth.from(month).toString(), categoryId, categoryName, operation, total.toString(), count);
+    }
+}
@@ -0,0 +1,36 @@
+package com.financialboost.api.domain.summary;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import com.financialboost.api.domain.transaction.Transaction.Operation;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Embeddable
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class TransactionSummaryId implements Serializable {
+
+    @Column(name = "user_id")
+    private UUID userId;
+
+    // Sempre o primeiro dia do mês
+    private LocalDate month;
+
+    @Column(name = "category_id")
+    private Integer categoryId;
+
+    @Enumerated(EnumType.ORDINAL)
+    private Operation operation;
+}
@@ -0,0 +1,33 @@
+package com.financialboost.api.domain.sync;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Posição opaca na ordenação (change_xid, change_seq) usada pelo GET /sync
+public record SyncCursor(long xid, long seq) {
+
+    public static final SyncCursor START = new SyncCursor(0, 0);
+
+    // Mesma ordem das consultas: (xid, seq)
+    public boolean isBefore(SyncCursor other) {
+        return xid < other.xid || (xid == other.xid && seq < other.seq);
+    }
+
+    public String encode() {
+        String raw = xid + "|" + seq;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SyncCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new SyncCursor(
+                Long.parseLong(raw.substring(0, separator)),
+                Long.parseLong(raw.substring(separator + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid sync cursor", e);
+        }
+    }
+}
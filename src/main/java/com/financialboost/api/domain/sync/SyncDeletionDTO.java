@@ -0,0 +1,7 @@
+package com.financialboost.api.domain.sync;
+
+// Tombstone: "transaction" ou "category" removida depois do cursor
+public record SyncDeletionDTO(
+    String type,
+    Integer id
+) {}
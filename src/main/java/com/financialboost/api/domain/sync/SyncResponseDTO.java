@@ -0,0 +1,18 @@
+package com.financialboost.api.domain.sync;
+
+import java.util.List;
+
+import com.financialboost.api.domain.category.CategoryResponseDTO;
+import com.financialboost.api.domain.transaction.TransactionResponseDTO;
+
+// Estado atual de tudo que mudou depois do cursor; com hasMore, repetir com o cursor devolvido.
+// Com resync, o cursor era mais antigo que a retenção dos tombstones: a resposta recomeça do
+// início e o cliente deve descartar o que tem antes de aplicar esta página e as seguintes.
+public record SyncResponseDTO(
+    List<TransactionResponseDTO> transactions,
+    List<CategoryResponseDTO> categories,
+    List<SyncDeletionDTO> deleted,
+    String cursor,
+    boolean hasMore,
+    boolean resync
+) {}
@@ -0,0 +1,12 @@
+package com.financialboost.api.domain.transaction;
+
+import java.time.Instant;
+
+// "url" aceita um PUT do arquivo com o header Content-Type igual a "contentType" até "expiresAt";
+// depois "key" é enviado como imageKey na criação/edição da transação
+public record PresignedUploadDTO(
+    String key,
+    String url,
+    String contentType,
+    Instant expiresAt
+) {}
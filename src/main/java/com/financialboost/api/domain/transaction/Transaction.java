@@ -2,6 +2,7 @@ package com.financialboost.api.domain.transaction;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 import com.financialboost.api.domain.category.Category;
 import com.financialboost.api.domain.user.User;
@@ -28,6 +29,7 @@ public class Transaction {
         this.category = category;
         this.user = user;
         this.imgUrl = imgUrl;
+        this.imgStatus = imgUrl != null ? ImageStatus.UPLOADED : null;
     }
 
     @Id
@@ -48,21 +50,53 @@ public class Transaction {
     @Column(nullable = false)
     private LocalDateTime datetime;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
     private Category category;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
     private String imgUrl;
 
+    private String thumbnailUrl;
+
+    // SHA-256 do comprovante em stored_files; arquivos sem nenhuma referência são coletados
+    private String imgDigest;
+
+    @Enumerated(EnumType.ORDINAL)
+    private ImageStatus imgStatus;
+
+    private LocalDateTime imgPendingSince;
+
+    // Identifica o envio mais recente; resultados de envios anteriores são ignorados
+    private UUID imgUploadToken;
+
+    // Comprovante aguardando o envio assíncrono; o horário permite achar envios perdidos num reinício
+    public void markImagePending() {
+        this.imgStatus = ImageStatus.PENDING;
+        this.imgPendingSince = LocalDateTime.now();
+        this.imgUploadToken = UUID.randomUUID();
+    }
+
+    // Valor com sinal: entradas somam e saídas subtraem do saldo
+    public BigDecimal getSignedValue() {
+        return operation == Operation.NEGATIVE ? value.negate() : value;
+    }
+
     public enum Operation {
         POSITIVE, // Representa entrada (+)
         NEGATIVE  // Representa saída (−)
     }
 
+    // Estado do envio assíncrono do comprovante; null quando não há comprovante
+    public enum ImageStatus {
+        PENDING,
+        UPLOADED,
+        FAILED
+    }
+
     public enum TransactionType {
         PIX,
         TED,
@@ -0,0 +1,28 @@
+package com.financialboost.api.domain.transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.financialboost.api.domain.transaction.Transaction.Operation;
+import com.financialboost.api.domain.transaction.Transaction.TransactionType;
+
+// Mesmos filtros da listagem; o usuário vem sempre do token
+public record TransactionBulkFilterDTO(
+    TransactionType type,
+    Integer categoryId,
+    Operation operation,
+    BigDecimal valueMin,
+    BigDecimal valueMax,
+    LocalDateTime datetimeMin,
+    LocalDateTime datetimeMax
+) {
+    public boolean isEmpty() {
+        return type == null && categoryId == null && operation == null
+                && valueMin == null && valueMax == null && datetimeMin == null && datetimeMax == null;
+    }
+
+    public TransactionFilter toFilter(UUID userId) {
+        return new TransactionFilter(userId, type, categoryId, operation, valueMin, valueMax, datetimeMin, datetimeMax);
+    }
+}
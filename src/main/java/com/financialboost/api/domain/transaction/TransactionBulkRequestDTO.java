@@ -0,0 +1,10 @@
+package com.financialboost.api.domain.transaction;
+
+import java.util.List;
+
+// Seleciona por ids, por filtro ou pelos dois (interseção). categoryId é o destino da recategorização.
+public record TransactionBulkRequestDTO(
+    List<Integer> ids,
+    TransactionBulkFilterDTO filter,
+    Integer categoryId
+) {}
@@ -0,0 +1,5 @@
+package com.financialboost.api.domain.transaction;
+
+public record TransactionBulkResultDTO(
+    int affected
+) {}
@@ -0,0 +1,35 @@
+package com.financialboost.api.domain.transaction;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+// Posição opaca na ordenação (datetime DESC, id DESC) usada pela paginação por cursor
+public record TransactionCursor(LocalDateTime datetime, Integer id) {
+
+    public TransactionCursor(Transaction transaction) {
+        this(transaction.getDatetime(), transaction.getId());
+    }
+
+    public TransactionCursor(TransactionResponseDTO transaction) {
+        this(LocalDateTime.parse(transaction.datetime()), transaction.id());
+    }
+
+    public String encode() {
+        String raw = datetime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TransactionCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new TransactionCursor(
+                LocalDateTime.parse(raw.substring(0, separator)),
+                Integer.valueOf(raw.substring(separator + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid transaction cursor", e);
+        }
+    }
+}
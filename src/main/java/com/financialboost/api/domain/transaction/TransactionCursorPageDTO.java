@@ -0,0 +1,10 @@
+package com.financialboost.api.domain.transaction;
+
+import java.util.List;
+
+public record TransactionCursorPageDTO(
+    List<TransactionResponseDTO> content,
+    String nextCursor,
+    int size,
+    Long totalElements
+) {}
@@ -0,0 +1,19 @@
+package com.financialboost.api.domain.transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.financialboost.api.domain.transaction.Transaction.Operation;
+import com.financialboost.api.domain.transaction.Transaction.TransactionType;
+
+public record TransactionFilter(
+    UUID userId,
+    TransactionType type,
+    Integer categoryId,
+    Operation operation,
+    BigDecimal valueMin,
+    BigDecimal valueMax,
+    LocalDateTime datetimeMin,
+    LocalDateTime datetimeMax
+) {}
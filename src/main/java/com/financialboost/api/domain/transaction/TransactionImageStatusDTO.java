@@ -0,0 +1,8 @@
+package com.financialboost.api.domain.transaction;
+
+public record TransactionImageStatusDTO(
+    Integer id,
+    Transaction.ImageStatus imgStatus,
+    String imgUrl,
+    String thumbnailUrl
+) {}
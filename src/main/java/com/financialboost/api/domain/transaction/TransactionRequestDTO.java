@@ -14,5 +14,6 @@ public record TransactionRequestDTO(
     TransactionType type,
     LocalDateTime datetime,
     Integer categoryId,
-    MultipartFile image
+    MultipartFile image,
+    String imageKey
 ) {}
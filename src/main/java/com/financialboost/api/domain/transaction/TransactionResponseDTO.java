@@ -1,5 +1,8 @@
 package com.financialboost.api.domain.transaction;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
 public record TransactionResponseDTO(
         Integer id,
         String categoryName,
@@ -8,7 +11,9 @@ public record TransactionResponseDTO(
         Transaction.TransactionType type,
         String datetime,
         String value,
-        String imgUrl
+        String imgUrl,
+        String thumbnailUrl,
+        Transaction.ImageStatus imgStatus
 ) {
     public TransactionResponseDTO(Transaction transaction) {
         this(
@@ -19,7 +24,25 @@ public record TransactionResponseDTO(
             transaction.getType(),
             transaction.getDatetime().toString(),
             transaction.getValue().toString(),
-            transaction.getImgUrl()
+            transaction.getImgUrl(),
+            transaction.getThumbnailUrl(),
+            transaction.getImgStatus()
         );
     }
+
+    // Usado pelas projeções JPQL/Criteria (SELECT new ...) do TransactionRepository
+    public TransactionResponseDTO(
+            Integer id,
+            String categoryName,
+            Integer categoryId,
+            Transaction.Operation operation,
+            Transaction.TransactionType type,
+            LocalDateTime datetime,
+            BigDecimal value,
+            String imgUrl,
+            String thumbnailUrl,
+            Transaction.ImageStatus imgStatus
+    ) {
+        this(id, categoryName, categoryId, operation, type, datetime.toString(), value.toString(), imgUrl, thumbnailUrl, imgStatus);
+    }
 }
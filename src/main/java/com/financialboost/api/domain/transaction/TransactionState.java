@@ -0,0 +1,31 @@
+package com.financialboost.api.domain.transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.financialboost.api.domain.transaction.Transaction.Operation;
+
+// Cópia dos campos de uma transação antes de uma alteração, usada para desfazer
+// o efeito antigo nos agregados (saldo, resumo mensal)
+public record TransactionState(
+    UUID userId,
+    Integer categoryId,
+    Operation operation,
+    BigDecimal value,
+    LocalDateTime datetime
+) {
+    public TransactionState(Transaction transaction) {
+        this(
+            transaction.getUser().getId(),
+            transaction.getCategory().getId(),
+            transaction.getOperation(),
+            transaction.getValue(),
+            transaction.getDatetime()
+        );
+    }
+
+    public BigDecimal signedValue() {
+        return operation == Operation.NEGATIVE ? value.negate() : value;
+    }
+}
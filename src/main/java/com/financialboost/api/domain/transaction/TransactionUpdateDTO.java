@@ -14,6 +14,7 @@ public record TransactionUpdateDTO(
     TransactionType type,
     LocalDateTime datetime,
     Integer categoryId,
-    MultipartFile image
+    MultipartFile image,
+    String imageKey
 ) {}
 
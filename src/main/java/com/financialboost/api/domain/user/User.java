@@ -16,6 +16,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
@@ -35,6 +36,8 @@ public class User implements UserDetails {
     private String password;
     private UserRole role;
     private String picture;
+    private int tokenVersion;
+    private LocalDateTime tokenRevokedAt;
 
     public User(String login, String password, UserRole role, String picture){
         this.login = login;
@@ -43,6 +46,14 @@ public class User implements UserDetails {
         this.picture = picture;
     }
 
+    // Principal montado a partir das claims do JWT, sem consulta ao banco
+    public User(UUID id, String login, UserRole role, int tokenVersion){
+        this.id = id;
+        this.login = login;
+        this.role = role;
+        this.tokenVersion = tokenVersion;
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         if(this.role == UserRole.ADMIN) return List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_USER"));
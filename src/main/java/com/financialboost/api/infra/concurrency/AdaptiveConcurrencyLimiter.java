@@ -0,0 +1,170 @@
+package com.financialboost.api.infra.concurrency;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.financialboost.api.infra.ratelimit.RouteGroup;
+
+import jakarta.annotation.PostConstruct;
+
+// Limite global de requisições em andamento, ajustado pela latência (algoritmo de gradiente):
+// a cada janela compara a latência média com a linha de base e encolhe o limite na proporção
+// em que ela piorou, ou cresce devagar (log10 do limite) enquanto ela se mantém. Acima do
+// limite a requisição é recusada na hora, em vez de esperar na fila do Tomcat por uma conexão.
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    // Fração do limite que cada grupo pode ocupar: perto do teto, envios e login (BCrypt)
+    // são recusados antes das leituras
+    private static final Map<RouteGroup, Double> SHARES = Map.of(
+            RouteGroup.READS, 1.0,
+            RouteGroup.WRITES, 0.9,
+            RouteGroup.UPLOADS, 0.5,
+            RouteGroup.AUTH, 0.5);
+
+    @Value("${api.concurrency.enabled:true}")
+    private boolean enabled;
+
+    @Value("${api.concurrency.initial-limit:20}")
+    private int initialLimit;
+
+    @Value("${api.concurrency.min-limit:4}")
+    private int minLimit;
+
+    @Value("${api.concurrency.max-limit:200}")
+    private int maxLimit;
+
+    // Quanto a latência pode subir sobre a linha de base antes de o limite encolher
+    @Value("${api.concurrency.tolerance:1.5}")
+    private double tolerance;
+
+    @Value("${api.concurrency.window:PT0.25S}")
+    private Duration window;
+
+    @Value("${api.concurrency.min-samples:10}")
+    private int minSamples;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+
+    // Maior número de requisições simultâneas vistas na janela atual
+    private final AtomicInteger peakInflight = new AtomicInteger();
+
+    private final LongAdder rttSum = new LongAdder();
+    private final LongAdder rttCount = new LongAdder();
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+
+    private final Map<RouteGroup, LongAdder> admitted = new EnumMap<>(RouteGroup.class);
+    private final Map<RouteGroup, LongAdder> shed = new EnumMap<>(RouteGroup.class);
+
+    // Escritos só por quem fecha a janela
+    private volatile double estimatedLimit;
+    private volatile int limit;
+    private volatile double baselineRtt;
+    private volatile double lastRtt;
+
+    @PostConstruct
+    void init() {
+        estimatedLimit = initialLimit;
+        limit = initialLimit;
+        for (RouteGroup group : RouteGroup.values()) {
+            admitted.put(group, new LongAdder());
+            shed.put(group, new LongAdder());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean tryAcquire(RouteGroup group) {
+        int allowed = Math.max(1, (int) (limit * SHARES.get(group)));
+        while (true) {
+            int current = inflight.get();
+            if (current >= allowed) {
+                shed.get(group).increment();
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                peakInflight.accumulateAndGet(current + 1, Math::max);
+                admitted.get(group).increment();
+                return true;
+            }
+        }
+    }
+
+    // Só leituras e escritas simples entram na média: envios e login têm custo próprio
+    // (rede do cliente, BCrypt) que não diz nada sobre a saturação do banco
+    public void release(RouteGroup group, long startNanos, boolean sample) {
+        inflight.decrementAndGet();
+
+        long now = System.nanoTime();
+        if (sample && (group == RouteGroup.READS || group == RouteGroup.WRITES)) {
+            rttSum.add(now - startNanos);
+            rttCount.increment();
+        }
+
+        long start = windowStart.get();
+        if (now - start >= window.toNanos() && rttCount.sum() >= minSamples && windowStart.compareAndSet(start, now)) {
+            long count = rttCount.sumThenReset();
+            long sum = rttSum.sumThenReset();
+            int peak = peakInflight.getAndSet(inflight.get());
+            if (count > 0) {
+                update((double) sum / count, peak);
+            }
+        }
+    }
+
+    private void update(double rtt, int peak) {
+        lastRtt = rtt;
+        double current = estimatedLimit;
+
+        // Linha de base: a menor latência vista, subindo devagar quando o custo real das
+        // requisições muda. Com o limite cheio ela quase não sobe: ali a fila explica a
+        // latência, e segui-la faria o limite crescer junto com a sobrecarga.
+        boolean saturated = peak >= current / 2;
+        if (baselineRtt == 0 || rtt < baselineRtt) {
+            baselineRtt = rtt;
+        } else {
+            baselineRtt += (rtt - baselineRtt) * (saturated ? 0.002 : 0.05);
+        }
+
+        // Limite pouco usado: a latência não diz nada sobre ele
+        if (!saturated) return;
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * baselineRtt / rtt));
+        // O acréscimo é a fila tolerada sobre o gradiente. Com a raiz do limite, o equilíbrio
+        // ficava em ~2x a latência de base e o p99 das leituras dobrava a 2x da capacidade;
+        // log10 mantém a fila em 1 ou 2 requisições
+        double next = current * gradient + Math.log10(current);
+        next = current * 0.8 + next * 0.2;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, next));
+        limit = (int) estimatedLimit;
+    }
+
+    public ConcurrencyLimitStats stats() {
+        Map<RouteGroup, Long> admittedByGroup = new EnumMap<>(RouteGroup.class);
+        Map<RouteGroup, Long> shedByGroup = new EnumMap<>(RouteGroup.class);
+        for (RouteGroup group : RouteGroup.values()) {
+            admittedByGroup.put(group, admitted.get(group).sum());
+            shedByGroup.put(group, shed.get(group).sum());
+        }
+        return new ConcurrencyLimitStats(limit, inflight.get(), baselineRtt / 1_000_000, lastRtt / 1_000_000,
+                admittedByGroup, shedByGroup);
+    }
+
+    public record ConcurrencyLimitStats(
+        int limit,
+        int inflight,
+        double baselineRttMillis,
+        double lastRttMillis,
+        Map<RouteGroup, Long> admitted,
+        Map<RouteGroup, Long> shed
+    ) {}
+}
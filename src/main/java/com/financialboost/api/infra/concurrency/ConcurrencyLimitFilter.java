@@ -0,0 +1,98 @@
+package com.financialboost.api.infra.concurrency;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.financialboost.api.infra.ratelimit.RouteGroup;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Depois do limite por usuário: quem já passou da própria cota não ocupa vaga do limite global
+@Component
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final RequestMatcher ACTUATOR = EndpointRequest.toAnyEndpoint();
+
+    @Autowired
+    AdaptiveConcurrencyLimiter limiter;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !limiter.isEnabled() || ACTUATOR.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws IOException, ServletException {
+        RouteGroup group = RouteGroup.of(request);
+        if (!limiter.tryAcquire(group)) {
+            response.setStatus(503);
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.setCharacterEncoding("UTF-8");
+            response.getWriter().write("Servidor sobrecarregado, tente novamente em instantes");
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            async = request.isAsyncStarted();
+        } finally {
+            if (async) {
+                releaseOnCompletion(request.getAsyncContext(), group, start);
+            } else {
+                limiter.release(group, start, true);
+            }
+        }
+    }
+
+    // Exportações seguem em streaming depois que a thread do servlet volta, segurando uma
+    // conexão do banco: a vaga só é devolvida quando a resposta assíncrona termina. A duração
+    // não entra na média, que é a das requisições comuns.
+    private void releaseOnCompletion(AsyncContext context, RouteGroup group, long start) {
+        AtomicBoolean released = new AtomicBoolean();
+        context.addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+                release();
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                release();
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                release();
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+                // Novo ciclo assíncrono na mesma requisição: continua ouvindo
+                event.getAsyncContext().addListener(this);
+            }
+
+            private void release() {
+                if (released.compareAndSet(false, true)) {
+                    limiter.release(group, start, false);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,60 @@
+package com.financialboost.api.infra.config;
+
+import java.time.Duration;
+import java.util.OptionalLong;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.financialboost.api.domain.category.Category;
+import com.financialboost.api.services.CategoryCacheService;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+// Caches em memória (Caffeine via JCache): o cache de segundo nível do Hibernate para
+// Category e a lista de categorias de cada usuário. Ambos com limite de tamanho e TTL.
+@Configuration
+public class CacheConfig {
+
+    @Value("${api.categories.cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${api.categories.cache.ttl:PT1H}")
+    private Duration ttl;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager jcacheManager() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        cacheManager.createCache(Category.CACHE_REGION, configuration());
+        cacheManager.createCache(CategoryCacheService.CACHE_NAME, configuration());
+        return cacheManager;
+    }
+
+    // Por referência: o Hibernate já guarda uma cópia desmontada e a lista é imutável
+    private <K, V> CaffeineConfiguration<K, V> configuration() {
+        CaffeineConfiguration<K, V> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+
+    // Só entidades com @Cacheable entram no cache; região ausente é erro de configuração
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager jcacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, jcacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+}
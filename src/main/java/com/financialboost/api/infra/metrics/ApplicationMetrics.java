@@ -0,0 +1,126 @@
+package com.financialboost.api.infra.metrics;
+
+import java.util.function.ToDoubleFunction;
+
+import javax.cache.CacheManager;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.financialboost.api.domain.category.Category;
+import com.financialboost.api.infra.concurrency.AdaptiveConcurrencyLimiter;
+import com.financialboost.api.infra.ratelimit.RateLimiter;
+import com.financialboost.api.infra.ratelimit.RouteGroup;
+import com.financialboost.api.infra.security.VerifiedTokenCache;
+import com.financialboost.api.services.CategoryCacheService;
+import com.financialboost.api.services.ImageCacheService;
+import com.financialboost.api.services.ImageProcessingService;
+import com.financialboost.api.services.ReceiptUploadService;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+
+// Os mesmos números de /admin/stats/*, expostos para o Prometheus
+@Component
+public class ApplicationMetrics implements MeterBinder {
+
+    @Autowired
+    ReceiptUploadService receiptUploadService;
+
+    @Autowired
+    ImageProcessingService imageProcessingService;
+
+    @Autowired
+    ImageCacheService imageCacheService;
+
+    @Autowired
+    VerifiedTokenCache tokenCache;
+
+    @Autowired
+    CacheManager jcacheManager;
+
+    @Autowired
+    RateLimiter rateLimiter;
+
+    @Autowired
+    AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("receipts.queue", receiptUploadService, ReceiptUploadService::getQueuedCount)
+                .description("Comprovantes aguardando ou em envio")
+                .register(registry);
+
+        counter(registry, "images.processed", imageProcessingService, service -> service.stats().images(), null);
+        counter(registry, "images.original", imageProcessingService, service -> service.stats().originalBytes(), "bytes");
+        counter(registry, "images.stored", imageProcessingService, service -> service.stats().storedBytes(), "bytes");
+        Gauge.builder("images.processing.queue", imageProcessingService, service -> service.stats().queued())
+                .register(registry);
+
+        counter(registry, "images.cache.hits", imageCacheService, service -> service.stats().hits(), null);
+        counter(registry, "images.cache.misses", imageCacheService, service -> service.stats().misses(), null);
+        counter(registry, "images.cache.coalesced", imageCacheService, service -> service.stats().coalesced(), null);
+        counter(registry, "images.cache.evictions", imageCacheService, service -> service.stats().evictions(), null);
+        Gauge.builder("images.cache.size", imageCacheService, service -> service.stats().cachedBytes())
+                .baseUnit("bytes")
+                .register(registry);
+
+        counter(registry, "auth.token.cache.hits", tokenCache, cache -> cache.stats().hits(), null);
+        counter(registry, "auth.token.cache.misses", tokenCache, cache -> cache.stats().misses(), null);
+        counter(registry, "auth.token.cache.evictions", tokenCache, cache -> cache.stats().evictions(), null);
+        Gauge.builder("auth.token.cache.size", tokenCache, cache -> cache.stats().size())
+                .register(registry);
+
+        // cache.gets{cache=categories|categories-by-user, result=hit|miss}, cache.evictions...
+        JCacheMetrics.monitor(registry, jcacheManager.getCache(Category.CACHE_REGION));
+        JCacheMetrics.monitor(registry, jcacheManager.getCache(CategoryCacheService.CACHE_NAME));
+
+        // ratelimit.requests{group=AUTH|READS|WRITES|UPLOADS, outcome=ALLOWED|REJECTED}
+        for (RouteGroup group : RouteGroup.values()) {
+            String tag = group.name();
+            FunctionCounter.builder("ratelimit.requests", rateLimiter, limiter -> limiter.stats(group).allowed())
+                    .tags("group", tag, "outcome", "ALLOWED")
+                    .register(registry);
+            FunctionCounter.builder("ratelimit.requests", rateLimiter, limiter -> limiter.stats(group).rejected())
+                    .tags("group", tag, "outcome", "REJECTED")
+                    .register(registry);
+            FunctionCounter.builder("ratelimit.evictions", rateLimiter, limiter -> limiter.stats(group).evictions())
+                    .tag("group", tag)
+                    .register(registry);
+            FunctionCounter.builder("ratelimit.overflowed", rateLimiter, limiter -> limiter.stats(group).overflowed())
+                    .tag("group", tag)
+                    .description("Requisições de chaves novas no balde compartilhado (mapa em max-keys)")
+                    .register(registry);
+            Gauge.builder("ratelimit.buckets", rateLimiter, limiter -> limiter.stats(group).buckets())
+                    .tag("group", tag)
+                    .description("Usuários/IPs com balde ativo")
+                    .register(registry);
+
+            // concurrency.requests{group, outcome=ADMITTED|SHED}
+            FunctionCounter.builder("concurrency.requests", concurrencyLimiter, limiter -> limiter.stats().admitted().get(group))
+                    .tags("group", tag, "outcome", "ADMITTED")
+                    .register(registry);
+            FunctionCounter.builder("concurrency.requests", concurrencyLimiter, limiter -> limiter.stats().shed().get(group))
+                    .tags("group", tag, "outcome", "SHED")
+                    .register(registry);
+        }
+
+        Gauge.builder("concurrency.limit", concurrencyLimiter, limiter -> limiter.stats().limit())
+                .description("Limite adaptativo de requisições em andamento")
+                .register(registry);
+        Gauge.builder("concurrency.inflight", concurrencyLimiter, limiter -> limiter.stats().inflight())
+                .register(registry);
+        Gauge.builder("concurrency.rtt.baseline", concurrencyLimiter, limiter -> limiter.stats().baselineRttMillis())
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+
+    private static <T> void counter(MeterRegistry registry, String name, T source, ToDoubleFunction<T> value, String baseUnit) {
+        FunctionCounter.builder(name, source, value)
+                .baseUnit(baseUnit)
+                .register(registry);
+    }
+}
@@ -0,0 +1,31 @@
+package com.financialboost.api.infra.metrics;
+
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+
+// Acrescenta ao http.server.requests a tag "handler" (Controller.metodo), para separar
+// métodos que compartilham a mesma URI
+@Component
+public class HandlerObservationConvention extends DefaultServerRequestObservationConvention {
+
+    static final String HANDLER_TAG = "handler";
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context)
+                .and(KeyValue.of(HANDLER_TAG, handlerName(context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE))));
+    }
+
+    static String handlerName(Object handler) {
+        if (handler instanceof HandlerMethod method) {
+            return method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+        }
+        return "none";
+    }
+}
@@ -0,0 +1,51 @@
+package com.financialboost.api.infra.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Quantos comandos SQL o Hibernate preparou em cada requisição, por handler. O inspector conta
+// num atributo da requisição; fora de uma requisição (workers, agendamentos) nada é contado.
+@Component
+public class SqlStatementMetrics implements StatementInspector, HandlerInterceptor {
+
+    private static final String COUNTER_ATTRIBUTE = SqlStatementMetrics.class.getName() + ".count";
+
+    private final MeterRegistry meterRegistry;
+
+    public SqlStatementMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            int[] count = (int[]) attributes.getAttribute(COUNTER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (count == null) {
+                attributes.setAttribute(COUNTER_ATTRIBUTE, new int[] { 1 }, RequestAttributes.SCOPE_REQUEST);
+            } else {
+                count[0]++;
+            }
+        }
+        return sql;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        int[] count = (int[]) request.getAttribute(COUNTER_ATTRIBUTE);
+
+        DistributionSummary.builder("http.server.requests.sql.statements")
+                .description("Comandos SQL preparados pelo Hibernate por requisição")
+                .tag(HandlerObservationConvention.HANDLER_TAG, HandlerObservationConvention.handlerName(handler))
+                .register(meterRegistry)
+                .record(count != null ? count[0] : 0);
+    }
+}
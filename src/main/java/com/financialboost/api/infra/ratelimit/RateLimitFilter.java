@@ -0,0 +1,60 @@
+package com.financialboost.api.infra.ratelimit;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.financialboost.api.domain.user.User;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Roda logo depois do SecurityFilter: requisições autenticadas contam para o usuário do
+// token, as demais (login, cadastro, token inválido) para o IP de origem
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final RequestMatcher ACTUATOR = EndpointRequest.toAnyEndpoint();
+
+    @Autowired
+    RateLimiter rateLimiter;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !rateLimiter.isEnabled() || ACTUATOR.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws IOException, ServletException {
+        long wait = rateLimiter.tryAcquire(RouteGroup.of(request), key(request));
+        if (wait > 0) {
+            long seconds = TimeUnit.NANOSECONDS.toSeconds(wait) + 1;
+            response.setStatus(429);
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.setCharacterEncoding("UTF-8");
+            response.getWriter().write("Muitas requisições, tente novamente em instantes");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private Object key(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User user) {
+            return user.getId();
+        }
+        return request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,171 @@
+package com.financialboost.api.infra.ratelimit;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+// Token bucket por usuário (ou IP, sem autenticação) e grupo de rotas, no formato GCRA: o
+// balde inteiro é um AtomicLong com o instante em que ele volta a ficar cheio. Consumir é
+// um get + compareAndSet, sem lock e sem alocação no caminho comum.
+@Component
+public class RateLimiter {
+
+    @Value("${api.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${api.rate-limit.max-keys:100000}")
+    private int maxKeys;
+
+    @Value("${api.rate-limit.auth.rate:1}")
+    private double authRate;
+
+    @Value("${api.rate-limit.auth.burst:10}")
+    private int authBurst;
+
+    @Value("${api.rate-limit.reads.rate:20}")
+    private double readsRate;
+
+    @Value("${api.rate-limit.reads.burst:50}")
+    private int readsBurst;
+
+    @Value("${api.rate-limit.writes.rate:5}")
+    private double writesRate;
+
+    @Value("${api.rate-limit.writes.burst:20}")
+    private int writesBurst;
+
+    @Value("${api.rate-limit.uploads.rate:1}")
+    private double uploadsRate;
+
+    @Value("${api.rate-limit.uploads.burst:10}")
+    private int uploadsBurst;
+
+    private final Map<RouteGroup, Limit> limits = new EnumMap<>(RouteGroup.class);
+
+    private final Map<RouteGroup, Map<Object, AtomicLong>> buckets = new EnumMap<>(RouteGroup.class);
+
+    // Balde dividido pelas chaves novas de um grupo enquanto o mapa está em max-keys
+    private final Map<RouteGroup, AtomicLong> overflow = new EnumMap<>(RouteGroup.class);
+
+    private final Map<RouteGroup, GroupCounters> counters = new EnumMap<>(RouteGroup.class);
+
+    @PostConstruct
+    void init() {
+        limits.put(RouteGroup.AUTH, new Limit(authRate, authBurst));
+        limits.put(RouteGroup.READS, new Limit(readsRate, readsBurst));
+        limits.put(RouteGroup.WRITES, new Limit(writesRate, writesBurst));
+        limits.put(RouteGroup.UPLOADS, new Limit(uploadsRate, uploadsBurst));
+        for (RouteGroup group : RouteGroup.values()) {
+            buckets.put(group, new ConcurrentHashMap<>());
+            overflow.put(group, new AtomicLong(Long.MIN_VALUE));
+            counters.put(group, new GroupCounters());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 0 quando a requisição pode seguir; senão quantos nanossegundos até caber mais uma
+    public long tryAcquire(RouteGroup group, Object key) {
+        Limit limit = limits.get(group);
+        AtomicLong bucket = bucket(group, key);
+
+        long now = System.nanoTime();
+        while (true) {
+            long full = bucket.get();
+            long next = Math.max(full, now) + limit.interval();
+            long wait = next - now - limit.capacity();
+            if (wait > 0) {
+                counters.get(group).rejected.increment();
+                return wait;
+            }
+            if (bucket.compareAndSet(full, next)) {
+                counters.get(group).allowed.increment();
+                return 0;
+            }
+        }
+    }
+
+    private AtomicLong bucket(RouteGroup group, Object key) {
+        Map<Object, AtomicLong> groupBuckets = buckets.get(group);
+        AtomicLong bucket = groupBuckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+
+        // Mapa cheio: a chave nova usa o balde compartilhado do grupo até a varredura agendada
+        // abrir espaço. Nada é removido aqui: varrer o mapa inteiro sairia do bolso desta
+        // requisição, e descartar um balde que não está cheio devolveria a quem o esvaziou
+        // o burst inteiro de novo.
+        if (groupBuckets.size() >= maxKeys) {
+            counters.get(group).overflowed.increment();
+            return overflow.get(group);
+        }
+        return groupBuckets.computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE));
+    }
+
+    // Balde que já voltou a ficar cheio equivale a um novo: removê-lo não altera nenhum limite
+    @Scheduled(fixedDelayString = "${api.rate-limit.sweep-interval:60000}")
+    public void evictIdle() {
+        for (RouteGroup group : RouteGroup.values()) {
+            evictIdle(group);
+        }
+    }
+
+    private void evictIdle(RouteGroup group) {
+        long now = System.nanoTime();
+        GroupCounters groupCounters = counters.get(group);
+        buckets.get(group).values().removeIf(bucket -> {
+            boolean idle = bucket.get() <= now;
+            if (idle) groupCounters.evictions.increment();
+            return idle;
+        });
+    }
+
+    public RateLimitStats stats(RouteGroup group) {
+        GroupCounters groupCounters = counters.get(group);
+        Limit limit = limits.get(group);
+        return new RateLimitStats(
+                groupCounters.allowed.sum(),
+                groupCounters.rejected.sum(),
+                groupCounters.evictions.sum(),
+                groupCounters.overflowed.sum(),
+                buckets.get(group).size(),
+                limit.rate(),
+                limit.burst());
+    }
+
+    public Map<RouteGroup, RateLimitStats> stats() {
+        Map<RouteGroup, RateLimitStats> stats = new EnumMap<>(RouteGroup.class);
+        for (RouteGroup group : RouteGroup.values()) {
+            stats.put(group, stats(group));
+        }
+        return stats;
+    }
+
+    // rate em requisições por segundo; burst é quantas cabem de uma vez com o balde cheio
+    private record Limit(double rate, int burst, long interval, long capacity) {
+        Limit(double rate, int burst) {
+            this(rate, burst, (long) (TimeUnit.SECONDS.toNanos(1) / rate), (long) (TimeUnit.SECONDS.toNanos(1) / rate) * burst);
+        }
+    }
+
+    private static class GroupCounters {
+        final LongAdder allowed = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        final LongAdder evictions = new LongAdder();
+        final LongAdder overflowed = new LongAdder();
+    }
+
+    public record RateLimitStats(long allowed, long rejected, long evictions, long overflowed, int buckets, double rate, int burst) {}
+}
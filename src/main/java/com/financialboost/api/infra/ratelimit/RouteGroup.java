@@ -0,0 +1,32 @@
+package com.financialboost.api.infra.ratelimit;
+
+import org.springframework.http.HttpMethod;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+// Cada grupo tem o próprio limite: um script lendo /transactions em loop não consome
+// a cota de escrita nem a de envio de comprovantes do mesmo usuário
+public enum RouteGroup {
+    AUTH,
+    READS,
+    WRITES,
+    UPLOADS;
+
+    public static RouteGroup of(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith("/auth/")) {
+            return AUTH;
+        }
+
+        String contentType = request.getContentType();
+        if ((contentType != null && contentType.startsWith("multipart/")) || path.startsWith("/transactions/images/")) {
+            return UPLOADS;
+        }
+
+        String method = request.getMethod();
+        if (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method)) {
+            return READS;
+        }
+        return WRITES;
+    }
+}
@@ -1,6 +1,7 @@
 package com.financialboost.api.infra.security;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -14,6 +15,11 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import com.financialboost.api.infra.concurrency.ConcurrencyLimitFilter;
+import com.financialboost.api.infra.ratelimit.RateLimitFilter;
+
+import jakarta.servlet.DispatcherType;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfiguration {
@@ -21,17 +27,31 @@ public class SecurityConfiguration {
     @Autowired
     SecurityFilter securityFilter;
 
+    @Autowired
+    RateLimitFilter rateLimitFilter;
+
+    @Autowired
+    ConcurrencyLimitFilter concurrencyLimitFilter;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity httpSecurity) throws Exception {
         return httpSecurity
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authorize -> authorize
+                    // Respostas em streaming terminam num dispatch ASYNC que o SecurityFilter não
+                    // reprocessa; a requisição original já passou pela autorização
+                    .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                     .requestMatchers(HttpMethod.POST, "/auth/login").permitAll()
                     .requestMatchers(HttpMethod.POST, "/auth/register").permitAll()
+                    .requestMatchers("/admin/**").hasRole("ADMIN")
+                    // Actuator fica na porta de gerenciamento, que não é exposta fora da VPC
+                    .requestMatchers(EndpointRequest.toAnyEndpoint()).permitAll()
                     .anyRequest().authenticated()
                 )
                 .addFilterBefore(securityFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(rateLimitFilter, SecurityFilter.class)
+                .addFilterAfter(concurrencyLimitFilter, RateLimitFilter.class)
                 .build();
     }
 
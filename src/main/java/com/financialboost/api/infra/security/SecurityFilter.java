@@ -3,6 +3,7 @@ package com.financialboost.api.infra.security;
 import java.io.IOException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -22,22 +23,41 @@ public class SecurityFilter extends OncePerRequestFilter {
     @Autowired
     TokenService tokenService;
 
+    @Autowired
+    TokenRevocationRegistry revocationRegistry;
+
     @Autowired
     UserRepository userRepository;
 
+    @Value("${api.security.token.stateless:true}")
+    private boolean stateless;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws IOException, ServletException{
         var token = this.recoverToken(request);
         if(token != null){
-            var login = tokenService.validateToken(token);
-            UserDetails user = userRepository.findByLogin(login);
+            UserDetails user = this.resolveUser(token);
 
-            var authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+            if(user != null){
+                var authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
         }
         filterChain.doFilter(request, response);
     }
 
+    private UserDetails resolveUser(String token){
+        TokenClaims claims = tokenService.verifyToken(token);
+        if(claims == null) return null;
+
+        if(stateless && claims.isComplete()){
+            if(revocationRegistry.isRevoked(claims.userId(), claims.version())) return null;
+            return claims.toPrincipal();
+        }
+
+        return userRepository.findByLogin(claims.login());
+    }
+
     private String recoverToken(HttpServletRequest request){
         var authHeader = request.getHeader("authorization");
         if(authHeader == null) return null;
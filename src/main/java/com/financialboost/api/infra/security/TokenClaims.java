@@ -0,0 +1,22 @@
+package com.financialboost.api.infra.security;
+
+import java.util.UUID;
+
+import com.financialboost.api.domain.user.User;
+import com.financialboost.api.domain.user.UserRole;
+
+public record TokenClaims(
+    String login,
+    UUID userId,
+    UserRole role,
+    Integer version
+) {
+    // Tokens emitidos antes das claims de id/role/versão precisam cair no fluxo com banco
+    public boolean isComplete() {
+        return userId != null && role != null && version != null;
+    }
+
+    public User toPrincipal() {
+        return new User(userId, login, role, version);
+    }
+}
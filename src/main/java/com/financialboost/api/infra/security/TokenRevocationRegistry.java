@@ -0,0 +1,67 @@
+package com.financialboost.api.infra.security;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.financialboost.api.domain.user.User;
+import com.financialboost.api.repository.UserRepository;
+
+// Menor versão de token aceita por usuário que revogou seus tokens. Cada entrada
+// só vive pelo TTL do token, então o mapa fica limitado às revogações recentes.
+@Component
+public class TokenRevocationRegistry {
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Value("${api.security.token.ttl:2h}")
+    private Duration tokenTtl;
+
+    private final Map<UUID, Revocation> revocations = new ConcurrentHashMap<>();
+
+    public boolean isRevoked(UUID userId, int tokenVersion) {
+        Revocation revocation = revocations.get(userId);
+        if (revocation == null) return false;
+
+        if (revocation.expiresAt().isBefore(LocalDateTime.now())) {
+            revocations.remove(userId, revocation);
+            return false;
+        }
+        return tokenVersion < revocation.minVersion();
+    }
+
+    public void revoke(UUID userId, int minVersion, LocalDateTime revokedAt) {
+        LocalDateTime expiresAt = revokedAt.plus(tokenTtl);
+        revocations.merge(userId, new Revocation(minVersion, expiresAt),
+            (current, next) -> current.minVersion() >= next.minVersion() ? current : next);
+        purgeExpired();
+    }
+
+    public int size() {
+        return revocations.size();
+    }
+
+    // Recarrega as revogações ainda vigentes após um restart (uma consulta na subida, fora do caminho quente)
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRecentRevocations() {
+        for (User user : userRepository.findByTokenRevokedAtAfter(LocalDateTime.now().minus(tokenTtl))) {
+            revoke(user.getId(), user.getTokenVersion(), user.getTokenRevokedAt());
+        }
+    }
+
+    private void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        revocations.values().removeIf(r -> r.expiresAt().isBefore(now));
+    }
+
+    private record Revocation(int minVersion, LocalDateTime expiresAt) {}
+}
@@ -1,9 +1,11 @@
 package com.financialboost.api.infra.security;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -11,21 +13,65 @@ import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.auth0.jwt.interfaces.JWTVerifier;
 import com.financialboost.api.domain.user.User;
+import com.financialboost.api.domain.user.UserRole;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 
 @Service
 public class TokenService {
 
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String ROLE_CLAIM = "role";
+    private static final String VERSION_CLAIM = "ver";
+
     @Value("${api.security.token.secret}")
     private String secret;
 
+    @Value("${api.security.token.ttl:2h}")
+    private Duration tokenTtl;
+
+    @Autowired
+    VerifiedTokenCache tokenCache;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    private Algorithm algorithm;
+
+    private JWTVerifier verifier;
+
+    private Timer hitTimer;
+
+    private Timer missValidTimer;
+
+    private Timer missInvalidTimer;
+
+    // Algorithm, JWTVerifier e os timers são thread-safe, então são montados uma única vez
+    @PostConstruct
+    void init(){
+        this.algorithm = Algorithm.HMAC256(secret);
+        this.verifier = JWT.require(algorithm)
+                        .withIssuer("auth-api")
+                        .build();
+        this.hitTimer = validationTimer("hit", "VALID");
+        this.missValidTimer = validationTimer("miss", "VALID");
+        this.missInvalidTimer = validationTimer("miss", "INVALID");
+    }
+
     public String generateToken(User user){
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
             String token = JWT
                             .create()
                             .withIssuer("auth-api")
                             .withSubject(user.getLogin())
+                            .withClaim(USER_ID_CLAIM, user.getId().toString())
+                            .withClaim(ROLE_CLAIM, user.getRole() != null ? user.getRole().name() : null)
+                            .withClaim(VERSION_CLAIM, user.getTokenVersion())
                             .withExpiresAt(generateExpirationDate())
                             .sign(algorithm);
             return token;
@@ -35,20 +81,53 @@ public class TokenService {
     }
 
     public String validateToken(String token){
-        try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            return JWT.require(algorithm)
-                        .withIssuer("auth-api")
-                        .build()
-                        .verify(token)
-                        .getSubject();
+        TokenClaims claims = verifyToken(token);
+        return claims != null ? claims.login() : "";
+    }
+
+    public TokenClaims verifyToken(String token){
+        long start = System.nanoTime();
+        String digest = tokenCache.digest(token);
+        TokenClaims cached = tokenCache.get(digest);
+        if(cached != null) {
+            hitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return cached;
+        }
 
-        } catch (JWTVerificationException exception) {
-            return "";
+        TokenClaims claims = null;
+        try {
+            DecodedJWT jwt = verifier.verify(token);
+            claims = toClaims(jwt);
+            tokenCache.put(digest, claims, jwt.getExpiresAtAsInstant());
+            return claims;
+        } catch (JWTVerificationException | IllegalArgumentException exception) {
+            return null;
+        } finally {
+            (claims != null ? missValidTimer : missInvalidTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
     }
 
+    // auth.token.validation por cache (hit/miss) e outcome (VALID/INVALID)
+    private Timer validationTimer(String cache, String outcome) {
+        return Timer.builder("auth.token.validation")
+                .tag("cache", cache)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private TokenClaims toClaims(DecodedJWT jwt) {
+        String userId = jwt.getClaim(USER_ID_CLAIM).asString();
+        String role = jwt.getClaim(ROLE_CLAIM).asString();
+
+        return new TokenClaims(
+            jwt.getSubject(),
+            userId != null ? UUID.fromString(userId) : null,
+            role != null ? UserRole.valueOf(role) : null,
+            jwt.getClaim(VERSION_CLAIM).asInt()
+        );
+    }
+
     private Instant generateExpirationDate(){
-        return LocalDateTime.now().plusHours(2).toInstant(ZoneOffset.of("-03:00"));
+        return Instant.now().plus(tokenTtl);
     }
 }
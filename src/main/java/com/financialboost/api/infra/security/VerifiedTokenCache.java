@@ -0,0 +1,90 @@
+package com.financialboost.api.infra.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Tokens já verificados, indexados pelo SHA-256 do token para não manter o JWT em memória.
+// Cada entrada expira junto com o "exp" do próprio token.
+@Component
+public class VerifiedTokenCache {
+
+    @Value("${api.security.token.cache.max-size:10000}")
+    private int maxSize;
+
+    private final Map<String, CachedToken> entries = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public TokenClaims get(String digest) {
+        CachedToken cached = entries.get(digest);
+        if (cached == null) {
+            misses.increment();
+            return null;
+        }
+
+        if (!cached.expiresAt().isAfter(Instant.now())) {
+            if (entries.remove(digest, cached)) evictions.increment();
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        return cached.claims();
+    }
+
+    public void put(String digest, TokenClaims claims, Instant expiresAt) {
+        if (maxSize <= 0 || expiresAt == null) return;
+
+        if (entries.size() >= maxSize) {
+            evictExpired();
+            // Ainda cheio: descarta entradas arbitrárias até abrir espaço
+            Iterator<String> keys = entries.keySet().iterator();
+            while (entries.size() >= maxSize && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+                evictions.increment();
+            }
+        }
+        entries.put(digest, new CachedToken(claims, expiresAt));
+    }
+
+    @Scheduled(fixedDelayString = "${api.security.token.cache.sweep-interval:60000}")
+    public void evictExpired() {
+        Instant now = Instant.now();
+        entries.values().removeIf(cached -> {
+            boolean expired = !cached.expiresAt().isAfter(now);
+            if (expired) evictions.increment();
+            return expired;
+        });
+    }
+
+    public TokenCacheStats stats() {
+        return new TokenCacheStats(hits.sum(), misses.sum(), evictions.sum(), entries.size(), maxSize);
+    }
+
+    private record CachedToken(TokenClaims claims, Instant expiresAt) {}
+
+    public record TokenCacheStats(long hits, long misses, long evictions, int size, int maxSize) {}
+}
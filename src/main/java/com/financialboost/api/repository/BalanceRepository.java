@@ -1,8 +1,34 @@
 package com.financialboost.api.repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import com.financialboost.api.domain.balance.Balance;
 
 public interface BalanceRepository extends JpaRepository<Balance, Integer> {
-    
+    @Query("""
+        SELECT b FROM Balance b
+        WHERE b.user.id = :userId AND b.datetime <= :datetime
+        ORDER BY b.datetime DESC
+        LIMIT 1
+        """)
+    Optional<Balance> findLatestSnapshot(@Param("userId") UUID userId, @Param("datetime") LocalDateTime datetime);
+
+    @Query("SELECT COUNT(b) > 0 FROM Balance b WHERE b.user.id = :userId AND b.datetime = :datetime")
+    boolean existsSnapshot(@Param("userId") UUID userId, @Param("datetime") LocalDateTime datetime);
+
+    // Transações retroativas entram em todos os snapshots posteriores à sua data
+    @Modifying
+    @Query("UPDATE Balance b SET b.value = b.value + :delta WHERE b.user.id = :userId AND b.datetime > :datetime")
+    int shiftSnapshotsAfter(
+            @Param("userId") UUID userId,
+            @Param("datetime") LocalDateTime datetime,
+            @Param("delta") BigDecimal delta);
 }
@@ -0,0 +1,53 @@
+package com.financialboost.api.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.financialboost.api.domain.storage.StoredFile;
+
+public interface StoredFileRepository extends JpaRepository<StoredFile, String> {
+
+    // Reserva o arquivo para reaproveitamento: 0 linhas = não existe (ou acabou de ser coletado)
+    @Modifying
+    @Query("UPDATE StoredFile f SET f.lastUsedAt = :now WHERE f.digest = :digest")
+    int touch(@Param("digest") String digest, @Param("now") LocalDateTime now);
+
+    // Dois envios simultâneos do mesmo conteúdo gravam a mesma chave; o segundo só renova o uso
+    @Modifying
+    @Query(value = """
+        INSERT INTO stored_files (digest, object_key, url, thumbnail_key, thumbnail_url, size, created_at, last_used_at)
+        VALUES (:digest, :objectKey, :url, :thumbnailKey, :thumbnailUrl, :size, :now, :now)
+        ON CONFLICT (digest) DO UPDATE SET last_used_at = EXCLUDED.last_used_at
+        """, nativeQuery = true)
+    void register(
+            @Param("digest") String digest,
+            @Param("objectKey") String objectKey,
+            @Param("url") String url,
+            @Param("thumbnailKey") String thumbnailKey,
+            @Param("thumbnailUrl") String thumbnailUrl,
+            @Param("size") long size,
+            @Param("now") LocalDateTime now);
+
+    @Query(value = """
+        SELECT f.digest FROM stored_files f
+        WHERE f.last_used_at < :cutoff
+          AND NOT EXISTS (SELECT 1 FROM transactions t WHERE t.img_digest = f.digest)
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<String> findUnreferenced(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    // Rechecagem sob lock da linha: só apaga se continua sem referência e sem uso recente
+    @Modifying
+    @Query(value = """
+        DELETE FROM stored_files f
+        WHERE f.digest = :digest
+          AND f.last_used_at < :cutoff
+          AND NOT EXISTS (SELECT 1 FROM transactions t WHERE t.img_digest = f.digest)
+        """, nativeQuery = true)
+    int deleteIfUnreferenced(@Param("digest") String digest, @Param("cutoff") LocalDateTime cutoff);
+}
@@ -2,39 +2,96 @@ package com.financialboost.api.repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import com.financialboost.api.domain.transaction.Transaction;
-import com.financialboost.api.domain.transaction.Transaction.Operation;
-import com.financialboost.api.domain.transaction.Transaction.TransactionType;
+import com.financialboost.api.domain.transaction.TransactionImageStatusDTO;
+import com.financialboost.api.domain.transaction.TransactionResponseDTO;
 
-public interface TransactionRepository extends JpaRepository<Transaction, Integer> {
+public interface TransactionRepository extends JpaRepository<Transaction, Integer>, JpaSpecificationExecutor<Transaction>, TransactionRepositoryCustom {
     Page<Transaction> findByUserId(UUID userId, Pageable pageable);
 
+    // Dono checado no próprio SQL: transação de outro usuário não chega a ser carregada
+    Optional<Transaction> findByIdAndUserId(Integer id, UUID userId);
+
+    @Query("""
+        SELECT new com.financialboost.api.domain.transaction.TransactionResponseDTO(
+            t.id, c.name, c.id, t.operation, t.type, t.datetime, t.value, t.imgUrl, t.thumbnailUrl, t.imgStatus)
+        FROM Transaction t JOIN t.category c
+        WHERE t.id = :id AND t.user.id = :userId
+        """)
+    Optional<TransactionResponseDTO> findResponseByIdAndUserId(@Param("id") Integer id, @Param("userId") UUID userId);
+
+    @Query("""
+        SELECT new com.financialboost.api.domain.transaction.TransactionImageStatusDTO(t.id, t.imgStatus, t.imgUrl, t.thumbnailUrl)
+        FROM Transaction t
+        WHERE t.id = :id AND t.user.id = :userId
+        """)
+    Optional<TransactionImageStatusDTO> findImageStatusByIdAndUserId(@Param("id") Integer id, @Param("userId") UUID userId);
+
+    // Chamados pelo envio assíncrono do comprovante, depois que a requisição já terminou. Só
+    // gravam se o token ainda for o do envio (0 linhas: um envio mais novo já substituiu este)
+    @Modifying
+    @Query("""
+        UPDATE Transaction t
+        SET t.imgUrl = :imgUrl, t.thumbnailUrl = :thumbnailUrl, t.imgDigest = :imgDigest, t.imgStatus = :imgStatus
+        WHERE t.id = :id AND t.imgUploadToken = :token
+        """)
+    int updateImage(
+            @Param("id") Integer id,
+            @Param("token") UUID token,
+            @Param("imgUrl") String imgUrl,
+            @Param("thumbnailUrl") String thumbnailUrl,
+            @Param("imgDigest") String imgDigest,
+            @Param("imgStatus") Transaction.ImageStatus imgStatus);
+
+    @Modifying
+    @Query("UPDATE Transaction t SET t.imgStatus = :imgStatus WHERE t.id = :id AND t.imgUploadToken = :token")
+    int updateImageStatus(@Param("id") Integer id, @Param("token") UUID token, @Param("imgStatus") Transaction.ImageStatus imgStatus);
+
     @Query("""
-        SELECT t FROM Transaction t
-        WHERE t.user.id = :userId
-          AND (:categoryId IS NULL OR t.category.id = :categoryId)
-          AND (:valueMin IS NULL OR t.value >= :valueMin)
-          AND (:valueMax IS NULL OR t.value <= :valueMax)
-          AND (:type IS NULL OR t.type = :type)
-          AND (:operation IS NULL OR t.operation = :operation)
-          AND t.datetime >= COALESCE(:datetimeMin, t.datetime)
-          AND t.datetime <= COALESCE(:datetimeMax, t.datetime)
+        SELECT COALESCE(SUM(CASE WHEN t.operation = com.financialboost.api.domain.transaction.Transaction.Operation.NEGATIVE
+                                 THEN -t.value ELSE t.value END), 0)
+        FROM Transaction t
+        WHERE t.user.id = :userId AND t.datetime < :before
         """)
-    Page<Transaction> findByFilters(
+    BigDecimal sumSignedValueBefore(@Param("userId") UUID userId, @Param("before") LocalDateTime before);
+
+    @Query("""
+        SELECT COALESCE(SUM(CASE WHEN t.operation = com.financialboost.api.domain.transaction.Transaction.Operation.NEGATIVE
+                                 THEN -t.value ELSE t.value END), 0)
+        FROM Transaction t
+        WHERE t.user.id = :userId AND t.datetime >= :from AND t.datetime < :until
+        """)
+    BigDecimal sumSignedValueInRange(
+            @Param("userId") UUID userId,
+            @Param("from") LocalDateTime from,
+            @Param("until") LocalDateTime until);
+
+    @Query("""
+        SELECT COALESCE(SUM(CASE WHEN t.operation = com.financialboost.api.domain.transaction.Transaction.Operation.NEGATIVE
+                                 THEN -t.value ELSE t.value END), 0)
+        FROM Transaction t
+        WHERE t.user.id = :userId AND t.datetime >= :from AND t.datetime <= :to
+        """)
+    BigDecimal sumSignedValueBetween(
             @Param("userId") UUID userId,
-            @Param("type") TransactionType type,
-            @Param("categoryId") Integer categoryId,
-            @Param("operation") Operation operation,
-            @Param("valueMin") BigDecimal valueMin,
-            @Param("valueMax") BigDecimal valueMax,
-            @Param("datetimeMin") LocalDateTime datetimeMin,
-            @Param("datetimeMax") LocalDateTime datetimeMax,
-            Pageable pageable);
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    @Query("""
+        SELECT COALESCE(SUM(CASE WHEN t.operation = com.financialboost.api.domain.transaction.Transaction.Operation.NEGATIVE
+                                 THEN -t.value ELSE t.value END), 0)
+        FROM Transaction t
+        WHERE t.user.id = :userId AND t.datetime <= :to
+        """)
+    BigDecimal sumSignedValueUpTo(@Param("userId") UUID userId, @Param("to") LocalDateTime to);
 }
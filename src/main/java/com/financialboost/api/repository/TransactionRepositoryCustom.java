@@ -0,0 +1,21 @@
+package com.financialboost.api.repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.financialboost.api.domain.transaction.Transaction;
+import com.financialboost.api.domain.transaction.TransactionResponseDTO;
+
+public interface TransactionRepositoryCustom {
+    Page<TransactionResponseDTO> findResponses(Specification<Transaction> spec, Pageable pageable);
+
+    List<TransactionResponseDTO> findResponses(Specification<Transaction> spec, Sort sort, int limit);
+
+    // Deve ser consumido dentro de uma transação e fechado ao final (try-with-resources)
+    Stream<TransactionResponseDTO> streamResponses(Specification<Transaction> spec, Sort sort, int fetchSize);
+}
@@ -0,0 +1,99 @@
+package com.financialboost.api.repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import com.financialboost.api.domain.category.Category;
+import com.financialboost.api.domain.transaction.Transaction;
+import com.financialboost.api.domain.transaction.TransactionResponseDTO;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+
+// Listagens projetadas direto em TransactionResponseDTO: um único SELECT com join só em
+// categories.name, sem hidratar entidades Transaction, Category ou User
+public class TransactionRepositoryImpl implements TransactionRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<TransactionResponseDTO> findResponses(Specification<Transaction> spec, Pageable pageable) {
+        TypedQuery<TransactionResponseDTO> query = createResponseQuery(spec, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> countMatching(spec));
+    }
+
+    @Override
+    public List<TransactionResponseDTO> findResponses(Specification<Transaction> spec, Sort sort, int limit) {
+        return createResponseQuery(spec, sort)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // Cursor do servidor só para frente: o driver do Postgres busca "fetchSize" linhas por vez
+    // (exige autocommit desligado, ou seja, uma transação aberta) e nada é guardado no contexto
+    @Override
+    public Stream<TransactionResponseDTO> streamResponses(Specification<Transaction> spec, Sort sort, int fetchSize) {
+        return createResponseQuery(spec, sort)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private TypedQuery<TransactionResponseDTO> createResponseQuery(Specification<Transaction> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TransactionResponseDTO> query = cb.createQuery(TransactionResponseDTO.class);
+        Root<Transaction> root = query.from(Transaction.class);
+        Join<Transaction, Category> category = root.join("category");
+
+        query.select(cb.construct(
+                TransactionResponseDTO.class,
+                root.get("id"),
+                category.get("name"),
+                category.get("id"),
+                root.get("operation"),
+                root.get("type"),
+                root.get("datetime"),
+                root.get("value"),
+                root.get("imgUrl"),
+                root.get("thumbnailUrl"),
+                root.get("imgStatus")
+                ));
+        query.where(spec.toPredicate(root, query, cb));
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+
+        return entityManager.createQuery(query);
+    }
+
+    private long countMatching(Specification<Transaction> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Transaction> root = query.from(Transaction.class);
+
+        query.select(cb.count(root));
+        query.where(spec.toPredicate(root, query, cb));
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
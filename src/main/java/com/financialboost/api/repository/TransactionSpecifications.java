@@ -0,0 +1,121 @@
+package com.financialboost.api.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.financialboost.api.domain.transaction.Transaction;
+import com.financialboost.api.domain.transaction.TransactionCursor;
+import com.financialboost.api.domain.transaction.TransactionFilter;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+// Monta só os predicados informados, para que cada combinação de filtros gere um SQL
+// próprio que o Postgres consiga resolver pelos índices (user_id, datetime, id) e
+// (user_id, category_id, datetime, id)
+public final class TransactionSpecifications {
+
+    public static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("datetime"), Sort.Order.desc("id"));
+
+    private TransactionSpecifications() {}
+
+    // Cada predicado opcional do filtro descrito uma única vez: byFilter (Criteria) e sqlWhere
+    // (SQL das operações em massa) percorrem a mesma lista, então não há como divergirem
+    private static final List<Condition> CONDITIONS = List.of(
+        new Condition("category.id", "category_id", Comparison.EQUAL, TransactionFilter::categoryId),
+        new Condition("type", "type", Comparison.EQUAL, TransactionFilter::type),
+        new Condition("operation", "operation", Comparison.EQUAL, TransactionFilter::operation),
+        new Condition("value", "value", Comparison.AT_LEAST, TransactionFilter::valueMin),
+        new Condition("value", "value", Comparison.AT_MOST, TransactionFilter::valueMax),
+        new Condition("datetime", "datetime", Comparison.AT_LEAST, TransactionFilter::datetimeMin),
+        new Condition("datetime", "datetime", Comparison.AT_MOST, TransactionFilter::datetimeMax)
+    );
+
+    public static Specification<Transaction> byFilter(TransactionFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get("user").get("id"), filter.userId()));
+
+            for (Condition condition : CONDITIONS) {
+                Object value = condition.value().apply(filter);
+                if (value != null) {
+                    predicates.add(condition.toPredicate(root, cb, value));
+                }
+            }
+
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    // Mesmos predicados de byFilter sobre a tabela transactions, para JdbcTemplate; os valores
+    // vão para args na ordem dos "?" (enums pelo ordinal, como a entidade grava)
+    public static String sqlWhere(TransactionFilter filter, List<Object> args) {
+        StringBuilder where = new StringBuilder("user_id = ?");
+        args.add(filter.userId());
+
+        for (Condition condition : CONDITIONS) {
+            Object value = condition.value().apply(filter);
+            if (value != null) {
+                where.append(" AND ").append(condition.column()).append(condition.comparison().operator).append("?");
+                args.add(toJdbc(value));
+            }
+        }
+        return where.toString();
+    }
+
+    // Seek na ordenação NEWEST_FIRST: (datetime, id) < (cursor.datetime, cursor.id). O OR sozinho
+    // não vira limite do índice; o "datetime <= cursor" redundante vira, e o OR só filtra as
+    // linhas com o mesmo datetime do cursor
+    public static Specification<Transaction> after(TransactionCursor cursor) {
+        return (root, query, cb) -> cb.and(
+            cb.lessThanOrEqualTo(root.get("datetime"), cursor.datetime()),
+            cb.or(
+                cb.lessThan(root.get("datetime"), cursor.datetime()),
+                cb.and(
+                    cb.equal(root.get("datetime"), cursor.datetime()),
+                    cb.lessThan(root.get("id"), cursor.id())
+                )
+            )
+        );
+    }
+
+    private static Object toJdbc(Object value) {
+        if (value instanceof Enum<?> constant) return constant.ordinal();
+        if (value instanceof LocalDateTime datetime) return Timestamp.valueOf(datetime);
+        return value;
+    }
+
+    private enum Comparison {
+        EQUAL(" = "), AT_LEAST(" >= "), AT_MOST(" <= ");
+
+        private final String operator;
+
+        Comparison(String operator) {
+            this.operator = operator;
+        }
+    }
+
+    private record Condition(String attribute, String column, Comparison comparison, Function<TransactionFilter, ?> value) {
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Predicate toPredicate(Root<Transaction> root, CriteriaBuilder cb, Object value) {
+            Path path = root;
+            for (String part : attribute.split("\\.")) {
+                path = path.get(part);
+            }
+            return switch (comparison) {
+                case EQUAL -> cb.equal(path, value);
+                case AT_LEAST -> cb.greaterThanOrEqualTo(path, (Comparable) value);
+                case AT_MOST -> cb.lessThanOrEqualTo(path, (Comparable) value);
+            };
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.financialboost.api.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.financialboost.api.domain.summary.TransactionSummary;
+import com.financialboost.api.domain.summary.TransactionSummaryDTO;
+import com.financialboost.api.domain.summary.TransactionSummaryId;
+
+public interface TransactionSummaryRepository extends JpaRepository<TransactionSummary, TransactionSummaryId> {
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO transaction_summaries (user_id, month, category_id, operation, total, count)
+        VALUES (:userId, :month, :categoryId, :operation, :total, :count)
+        ON CONFLICT (user_id, month, category_id, operation) DO UPDATE
+            SET total = transaction_summaries.total + EXCLUDED.total,
+                count = transaction_summaries.count + EXCLUDED.count
+        """, nativeQuery = true)
+    void addToSummary(
+            @Param("userId") UUID userId,
+            @Param("month") LocalDate month,
+            @Param("categoryId") Integer categoryId,
+            @Param("operation") int operation,
+            @Param("total") BigDecimal total,
+            @Param("count") int count);
+
+    @Modifying
+    @Query(value = """
+        DELETE FROM transaction_summaries
+        WHERE user_id = :userId AND month = :month AND category_id = :categoryId AND operation = :operation AND count <= 0
+        """, nativeQuery = true)
+    void deleteIfEmpty(
+            @Param("userId") UUID userId,
+            @Param("month") LocalDate month,
+            @Param("categoryId") Integer categoryId,
+            @Param("operation") int operation);
+
+    @Query("""
+        SELECT new com.financialboost.api.domain.summary.TransactionSummaryDTO(
+            s.id.month, s.id.categoryId, c.name, s.id.operation, s.total, s.count)
+        FROM TransactionSummary s JOIN Category c ON c.id = s.id.categoryId
+        WHERE s.id.userId = :userId AND s.id.month >= :from AND s.id.month <= :to AND s.count > 0
+        ORDER BY s.id.month, s.id.categoryId, s.id.operation
+        """)
+    List<TransactionSummaryDTO> findSummary(
+            @Param("userId") UUID userId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    @Modifying
+    @Query(value = "DELETE FROM transaction_summaries WHERE user_id = :userId", nativeQuery = true)
+    void deleteByUserId(@Param("userId") UUID userId);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO transaction_summaries (user_id, month, category_id, operation, total, count)
+        SELECT user_id, CAST(date_trunc('month', datetime) AS DATE), category_id, operation, SUM(value), COUNT(*)
+        FROM transactions
+        WHERE user_id = :userId
+        GROUP BY 1, 2, 3, 4
+        """, nativeQuery = true)
+    void recomputeForUser(@Param("userId") UUID userId);
+}
@@ -0,0 +1,33 @@
+package com.financialboost.api.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.financialboost.api.domain.balance.UserBalance;
+
+import jakarta.persistence.LockModeType;
+
+public interface UserBalanceRepository extends JpaRepository<UserBalance, UUID> {
+
+    // Incremento atômico no banco; a linha é criada no cadastro do usuário
+    @Modifying
+    @Query("UPDATE UserBalance ub SET ub.balance = ub.balance + :delta, ub.updatedAt = CURRENT_TIMESTAMP WHERE ub.userId = :userId")
+    int addToBalance(@Param("userId") UUID userId, @Param("delta") BigDecimal delta);
+
+    @Query("SELECT ub.userId FROM UserBalance ub")
+    List<UUID> findAllUserIds();
+
+    // Toda escrita em transactions atualiza esta linha, então travá-la serializa
+    // recomputações com as escritas do mesmo usuário
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT ub FROM UserBalance ub WHERE ub.userId = :userId")
+    Optional<UserBalance> lockByUserId(@Param("userId") UUID userId);
+}
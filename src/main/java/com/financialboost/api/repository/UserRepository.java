@@ -1,10 +1,29 @@
 package com.financialboost.api.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import com.financialboost.api.domain.user.User;
 
 public interface UserRepository extends JpaRepository<User, String> {
     UserDetails findByLogin(String login);
+
+    List<User> findByTokenRevokedAtAfter(LocalDateTime revokedAt);
+
+    @Modifying
+    @Query("UPDATE users u SET u.tokenVersion = u.tokenVersion + 1, u.tokenRevokedAt = :revokedAt WHERE u.id = :userId")
+    int incrementTokenVersion(@Param("userId") UUID userId, @Param("revokedAt") LocalDateTime revokedAt);
+
+    @Query("SELECT u.tokenVersion FROM users u WHERE u.id = :userId")
+    int findTokenVersion(@Param("userId") UUID userId);
+
+    @Query("SELECT u.id FROM users u")
+    List<UUID> findAllIds();
 }
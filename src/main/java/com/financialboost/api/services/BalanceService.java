@@ -0,0 +1,150 @@
+package com.financialboost.api.services;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.financialboost.api.domain.balance.Balance;
+import com.financialboost.api.domain.balance.UserBalance;
+import com.financialboost.api.domain.transaction.Transaction;
+import com.financialboost.api.domain.transaction.TransactionState;
+import com.financialboost.api.domain.user.User;
+import com.financialboost.api.repository.BalanceRepository;
+import com.financialboost.api.repository.TransactionRepository;
+import com.financialboost.api.repository.UserBalanceRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+@Service
+public class BalanceService {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceService.class);
+
+    // Mesmo UPDATE de BalanceRepository.shiftSnapshotsAfter, para batch JDBC
+    private static final String SHIFT_SNAPSHOTS_SQL =
+        "UPDATE balances SET balance = balance + ? WHERE user_id = ? AND datetime > ?";
+
+    @Autowired
+    UserBalanceRepository userBalanceRepository;
+
+    @Autowired
+    BalanceRepository balanceRepository;
+
+    @Autowired
+    TransactionRepository transactionRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    // Deve rodar dentro da mesma transação do banco que gravou a transação financeira
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(UUID userId, LocalDateTime datetime, BigDecimal delta) {
+        if (delta.signum() == 0) return;
+
+        userBalanceRepository.addToBalance(userId, delta);
+        balanceRepository.shiftSnapshotsAfter(userId, datetime, delta);
+    }
+
+    // Deltas de vários meses de uma vez (importação): o saldo recebe a soma num UPDATE só e os
+    // deslocamentos de snapshot vão num batch JDBC, no mesmo efeito de um apply por mês
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyAll(UUID userId, Map<LocalDateTime, BigDecimal> deltas) {
+        BigDecimal total = BigDecimal.ZERO;
+        List<Object[]> shifts = new ArrayList<>(deltas.size());
+        for (Map.Entry<LocalDateTime, BigDecimal> delta : deltas.entrySet()) {
+            if (delta.getValue().signum() == 0) continue;
+            total = total.add(delta.getValue());
+            shifts.add(new Object[] { delta.getValue(), userId, Timestamp.valueOf(delta.getKey()) });
+        }
+        if (shifts.isEmpty()) return;
+
+        userBalanceRepository.addToBalance(userId, total);
+        jdbcTemplate.batchUpdate(SHIFT_SNAPSHOTS_SQL, shifts);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registerCreated(Transaction transaction) {
+        apply(transaction.getUser().getId(), transaction.getDatetime(), transaction.getSignedValue());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registerUpdated(TransactionState previous, Transaction transaction) {
+        if (previous.datetime().equals(transaction.getDatetime())) {
+            apply(previous.userId(), previous.datetime(), transaction.getSignedValue().subtract(previous.signedValue()));
+            return;
+        }
+
+        apply(previous.userId(), previous.datetime(), previous.signedValue().negate());
+        apply(previous.userId(), transaction.getDatetime(), transaction.getSignedValue());
+    }
+
+    @Transactional(readOnly = true)
+    public BigDecimal getCurrentBalance(UUID userId) {
+        return userBalanceRepository.findById(userId)
+                .map(UserBalance::getBalance)
+                .orElse(BigDecimal.ZERO);
+    }
+
+    // Snapshot mais recente até "datetime" + soma só das transações desde o snapshot
+    @Transactional(readOnly = true)
+    public BigDecimal getBalanceAt(UUID userId, LocalDateTime datetime) {
+        return balanceRepository.findLatestSnapshot(userId, datetime)
+                .map(snapshot -> snapshot.getValue().add(
+                        transactionRepository.sumSignedValueBetween(userId, snapshot.getDatetime(), datetime)))
+                .orElseGet(() -> transactionRepository.sumSignedValueUpTo(userId, datetime));
+    }
+
+    // Uma transação por usuário: um erro perde só o snapshot daquele usuário, e getBalanceAt
+    // continua certo somando a partir do snapshot anterior
+    @Scheduled(cron = "${api.balance.snapshot-cron:0 5 0 1 * *}")
+    public void createMonthlySnapshots() {
+        LocalDateTime monthStart = LocalDate.now().withDayOfMonth(1).atStartOfDay();
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+
+        for (UUID userId : userBalanceRepository.findAllUserIds()) {
+            try {
+                template.executeWithoutResult(status -> createSnapshot(userId, monthStart));
+            } catch (RuntimeException e) {
+                log.warn("Snapshot de {} do usuário {} não foi criado", monthStart, userId, e);
+            }
+        }
+    }
+
+    // Trava a linha de user_balances que apply atualiza: uma escrita retroativa em andamento
+    // termina antes da soma (e entra nela), e uma posterior espera o snapshot existir para
+    // deslocá-lo em shiftSnapshotsAfter
+    private void createSnapshot(UUID userId, LocalDateTime monthStart) {
+        if (userBalanceRepository.lockByUserId(userId).isEmpty()) return;
+        if (balanceRepository.existsSnapshot(userId, monthStart)) return;
+
+        BigDecimal value = balanceRepository.findLatestSnapshot(userId, monthStart)
+                .map(previous -> previous.getValue().add(
+                        transactionRepository.sumSignedValueInRange(userId, previous.getDatetime(), monthStart)))
+                .orElseGet(() -> transactionRepository.sumSignedValueBefore(userId, monthStart));
+
+        balanceRepository.save(new Balance(value, monthStart, entityManager.getReference(User.class, userId)));
+    }
+}
@@ -0,0 +1,109 @@
+package com.financialboost.api.services;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.management.CacheStatisticsMXBean;
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.financialboost.api.domain.category.Category;
+import com.financialboost.api.domain.category.CategoryResponseDTO;
+import com.financialboost.api.repository.CategoryRepository;
+
+import jakarta.annotation.PostConstruct;
+
+// Lista de categorias de cada usuário em memória. As entidades em si ficam no cache de
+// segundo nível do Hibernate (região Category.CACHE_REGION), invalidado pelo próprio Hibernate.
+@Service
+public class CategoryCacheService {
+
+    public static final String CACHE_NAME = "categories-by-user";
+
+    @Autowired
+    CategoryRepository repository;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    private Cache<UUID, List<CategoryResponseDTO>> lists;
+
+    // Incrementado a cada escrita: uma lista lida do banco antes dela não entra no cache
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private CacheStatisticsMXBean entityStatistics;
+    private CacheStatisticsMXBean listStatistics;
+
+    @PostConstruct
+    void init() throws MalformedObjectNameException {
+        lists = cacheManager.getCache(CACHE_NAME);
+        entityStatistics = statistics(Category.CACHE_REGION);
+        listStatistics = statistics(CACHE_NAME);
+    }
+
+    public List<CategoryResponseDTO> findByUser(UUID userId) {
+        List<CategoryResponseDTO> cached = lists.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        long version = invalidations.get();
+        List<CategoryResponseDTO> categories = repository.findByUserId(userId)
+                .stream()
+                .map(CategoryResponseDTO::new)
+                .toList();
+
+        // Uma escrita entre a consulta e o put remove a lista que acabou de entrar
+        if (invalidations.get() == version) {
+            lists.put(userId, categories);
+            if (invalidations.get() != version) {
+                lists.remove(userId);
+            }
+        }
+        return categories;
+    }
+
+    // Chamado depois do commit de criação, alteração ou remoção de categoria
+    public void evict(UUID userId) {
+        invalidations.incrementAndGet();
+        lists.remove(userId);
+    }
+
+    // Estatísticas registradas pelo Caffeine no MBeanServer da plataforma
+    private static CacheStatisticsMXBean statistics(String cacheName) throws MalformedObjectNameException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        Set<ObjectName> names = server.queryNames(
+                new ObjectName("javax.cache:type=CacheStatistics,Cache=" + cacheName + ",*"), null);
+        if (names.isEmpty()) {
+            throw new IllegalStateException("Estatísticas do cache " + cacheName + " não registradas");
+        }
+        return JMX.newMXBeanProxy(server, names.iterator().next(), CacheStatisticsMXBean.class);
+    }
+
+    public CategoryCacheStats stats() {
+        return new CategoryCacheStats(
+                entityStatistics.getCacheHits(), entityStatistics.getCacheMisses(), entityStatistics.getCacheEvictions(),
+                listStatistics.getCacheHits(), listStatistics.getCacheMisses(), listStatistics.getCacheEvictions(),
+                invalidations.get());
+    }
+
+    public record CategoryCacheStats(
+        long entityHits,
+        long entityMisses,
+        long entityEvictions,
+        long listHits,
+        long listMisses,
+        long listEvictions,
+        long listInvalidations
+    ) {}
+}
@@ -0,0 +1,83 @@
+package com.financialboost.api.services;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+// Versão dos dados (transações e categorias) de cada usuário, mantida em memória para que
+// GETs condicionais respondam 304 sem consultar o banco. Cada escrita recebe o próximo valor
+// de um relógio global, então a versão de um usuário nunca repete um valor já entregue com
+// dados diferentes, mesmo depois de a entrada ser descartada e recriada.
+@Service
+public class DataVersionService {
+
+    // O cliente guarda a resposta, mas revalida sempre com If-None-Match
+    private static final String CACHE_CONTROL = "private, no-cache";
+
+    @Value("${api.data-versions.max-users:100000}")
+    private int maxUsers;
+
+    // Versões recomeçam a cada inicialização; o epoch separa ETags de execuções anteriores
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final Map<UUID, Long> versions = new ConcurrentHashMap<>();
+
+    public long current(UUID userId) {
+        Long version = versions.get(userId);
+        if (version != null) {
+            return version;
+        }
+
+        // Descartar entradas só custa respostas completas até a próxima leitura
+        if (versions.size() >= maxUsers) {
+            versions.clear();
+        }
+        return versions.computeIfAbsent(userId, id -> clock.get());
+    }
+
+    // Dentro de uma transação do banco, a versão só muda depois do commit: antes disso uma
+    // leitura concorrente associaria a versão nova aos dados antigos
+    public void bump(UUID userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            advance(userId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                advance(userId);
+            }
+        });
+    }
+
+    private void advance(UUID userId) {
+        versions.merge(userId, clock.incrementAndGet(), Math::max);
+    }
+
+    // Marca a resposta com a ETag atual e diz se o cliente já a tem (304, corpo vazio).
+    // Chamado antes de qualquer consulta: no caso comum não há ida ao banco.
+    public boolean checkNotModified(UUID userId, ServletWebRequest request) {
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        return request.checkNotModified(etag(userId, request.getRequest()));
+    }
+
+    // ETag fraca: versão do usuário + rota e parâmetros da requisição (filtros e paginação)
+    public String etag(UUID userId, HttpServletRequest request) {
+        String query = request.getQueryString();
+        int params = (userId + " " + request.getRequestURI() + "?" + (query != null ? query : "")).hashCode();
+        return "W/\"" + epoch + "-" + current(userId) + "-" + Integer.toHexString(params) + "\"";
+    }
+}
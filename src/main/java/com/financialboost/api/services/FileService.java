@@ -1,16 +1,32 @@
 package com.financialboost.api.services;
 
-import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.util.UUID;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.HttpMethod;
 import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.transfer.TransferManager;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 
 @Service
 public class FileService {
@@ -18,37 +34,131 @@ public class FileService {
     @Autowired
     private AmazonS3 s3Client;
 
+    @Autowired
+    private TransferManager transferManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Value("${aws.bucket.name}")
     private String bucketName;
 
-    public String saveFile(MultipartFile file) throws IOException {
-        if (file == null || file.isEmpty()) {
-            return null;
-        }
+    private Timer successTimer;
+
+    private Timer errorTimer;
+
+    private DistributionSummary successSize;
 
-        String imgUrl = this.uploadFile(file);
+    private DistributionSummary errorSize;
 
-        return imgUrl;
+    // Medidores montados uma vez; registrar a cada envio repetiria a busca no registry
+    @PostConstruct
+    void init() {
+        this.successTimer = uploadTimer("SUCCESS");
+        this.errorTimer = uploadTimer("ERROR");
+        this.successSize = uploadSize("SUCCESS");
+        this.errorSize = uploadSize("ERROR");
     }
 
-    private String uploadFile(MultipartFile multipartFile) throws IOException {
-        String filename = UUID.randomUUID() + "-" + multipartFile.getOriginalFilename();
+    // Envio assíncrono com chave definida pelo chamador (conteúdo endereçado por
+    // digest). O arquivo já está em disco, então o TransferManager manda as partes em paralelo.
+    // Não há envio a partir do InputStream do multipart: o worker roda depois que a requisição
+    // terminou (o stream já não existe) e redimensiona a partir do arquivo do spool.
+    public String uploadFile(Path file, String key, String contentType) throws IOException {
+        long size = Files.size(file);
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(size);
+        if (contentType != null) {
+            metadata.setContentType(contentType);
+        }
 
+        long start = System.nanoTime();
+        boolean success = false;
         try {
-            File file = this.convertMultipartToFile(multipartFile);
-            s3Client.putObject(bucketName, filename, file);
-            file.delete();
-            return s3Client.getUrl(bucketName, filename).toString();
-        } catch(Exception e) {
+            transferManager.upload(new PutObjectRequest(bucketName, key, file.toFile()).withMetadata(metadata))
+                    .waitForCompletion();
+            success = true;
+            return s3Client.getUrl(bucketName, key).toString();
+        } catch (AmazonClientException e) {
+            throw new IOException("Falha no envio para o S3: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Envio para o S3 interrompido", e);
+        } finally {
+            recordUpload(start, size, success);
+        }
+    }
+
+    // URL assinada para o cliente enviar direto ao bucket, sem passar pela API
+    public URL presignUpload(String key, String contentType, Duration ttl) {
+        GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(bucketName, key, HttpMethod.PUT)
+                .withExpiration(Date.from(Instant.now().plus(ttl)));
+        if (contentType != null) {
+            request.setContentType(contentType);
+        }
+        return s3Client.generatePresignedUrl(request);
+    }
+
+    // Chave do objeto a partir da URL gravada na transação; null se a URL não é deste bucket
+    public String keyFromUrl(String url) {
+        String prefix = s3Client.getUrl(bucketName, "").toString();
+        if (url == null || !url.startsWith(prefix) || url.length() == prefix.length()) {
             return null;
         }
+        return url.substring(prefix.length());
+    }
+
+    // null quando o objeto não existe
+    public ObjectInfo getObjectInfo(String key) throws IOException {
+        try {
+            ObjectMetadata metadata = s3Client.getObjectMetadata(bucketName, key);
+            return new ObjectInfo(metadata.getContentLength(), metadata.getContentType());
+        } catch (AmazonServiceException e) {
+            if (e.getStatusCode() == 404) return null;
+            throw new IOException("Falha ao consultar o S3: " + e.getMessage(), e);
+        } catch (AmazonClientException e) {
+            throw new IOException("Falha ao consultar o S3: " + e.getMessage(), e);
+        }
     }
-    
-    private File convertMultipartToFile(MultipartFile multipartFile) throws IOException {
-        File convFile = new File(multipartFile.getOriginalFilename());
-        FileOutputStream fos = new FileOutputStream(convFile);
-        fos.write(multipartFile.getBytes());
-        fos.close();
-        return convFile;
+
+    // null quando o objeto não existe
+    public InputStream openFile(String key) throws IOException {
+        try {
+            return s3Client.getObject(bucketName, key).getObjectContent();
+        } catch (AmazonServiceException e) {
+            if (e.getStatusCode() == 404) return null;
+            throw new IOException("Falha ao ler do S3: " + e.getMessage(), e);
+        } catch (AmazonClientException e) {
+            throw new IOException("Falha ao ler do S3: " + e.getMessage(), e);
+        }
     }
+
+    public void deleteFile(String key) throws IOException {
+        try {
+            s3Client.deleteObject(bucketName, key);
+        } catch (AmazonClientException e) {
+            throw new IOException("Falha ao remover do S3: " + e.getMessage(), e);
+        }
+    }
+
+    // storage.upload (tempo) e storage.upload.size (bytes), com outcome SUCCESS ou ERROR
+    private void recordUpload(long startNanos, long bytes, boolean success) {
+        (success ? successTimer : errorTimer).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        (success ? successSize : errorSize).record(bytes);
+    }
+
+    private Timer uploadTimer(String outcome) {
+        return Timer.builder("storage.upload")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private DistributionSummary uploadSize(String outcome) {
+        return DistributionSummary.builder("storage.upload.size")
+                .baseUnit("bytes")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    public record ObjectInfo(long size, String contentType) {}
 }
@@ -0,0 +1,315 @@
+package com.financialboost.api.services;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import jakarta.annotation.PostConstruct;
+
+// Cache em disco, com limite de tamanho e despejo LRU, na frente do bucket dos comprovantes.
+// Os objetos nunca mudam sob a mesma chave (digest ou UUID), então não há invalidação.
+@Service
+public class ImageCacheService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageCacheService.class);
+
+    private static final String PARTIAL_SUFFIX = ".part";
+
+    @Autowired
+    FileService fileService;
+
+    @Value("${api.images.cache.dir:${java.io.tmpdir}/financialboost-image-cache}")
+    private Path cacheDir;
+
+    @Value("${api.images.cache.max-size:1GB}")
+    private DataSize maxSize;
+
+    // Quanto tempo um arquivo entregue ao sendfile do Tomcat fica fora do despejo
+    @Value("${api.images.cache.sendfile-hold:PT1M}")
+    private Duration sendfileHold;
+
+    // Nome do arquivo em disco -> tamanho, em ordem de acesso (o mais antigo primeiro)
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(256, 0.75f, true);
+
+    private long cachedBytes;
+
+    // Nome do arquivo -> System.nanoTime() até quando o despejo não pode removê-lo
+    private final HashMap<String, Long> held = new HashMap<>();
+
+    // ReentrantLock e não synchronized: o despejo apaga arquivos com o lock e, no modo
+    // virtual threads, synchronized prenderia a thread de plataforma durante o I/O
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Uma única busca no S3 por chave; quem chega durante a busca espera o mesmo resultado
+    private final ConcurrentHashMap<String, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    // Reaproveita o que já está em disco de execuções anteriores, do mais antigo ao mais recente
+    @PostConstruct
+    void init() throws IOException {
+        Files.createDirectories(cacheDir);
+
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(cacheDir)) {
+            files = stream.filter(Files::isRegularFile).toList();
+        }
+
+        List<Path> kept = new ArrayList<>();
+        for (Path file : files) {
+            if (file.getFileName().toString().endsWith(PARTIAL_SUFFIX)) {
+                Files.deleteIfExists(file);
+            } else {
+                kept.add(file);
+            }
+        }
+        kept.sort(Comparator.comparing(ImageCacheService::lastModified));
+
+        lock.lock();
+        try {
+            for (Path file : kept) {
+                long size = Files.size(file);
+                entries.put(file.getFileName().toString(), size);
+                cachedBytes += size;
+            }
+            evict(null);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Arquivo local com o conteúdo do objeto, já aberto (quem chama fecha); null se o objeto
+    // não existe no bucket. O arquivo é aberto com o lock, então o despejo não consegue
+    // removê-lo entre a consulta e a abertura, e depois disso o handle continua válido.
+    public CachedFile open(String key) throws IOException {
+        String name = URLEncoder.encode(key, StandardCharsets.UTF_8);
+        Path file = cacheDir.resolve(name);
+
+        while (true) {
+            FileChannel cached = openCached(name, file);
+            if (cached != null) {
+                hits.increment();
+                return new CachedFile(name, file, cached);
+            }
+
+            CompletableFuture<Path> fetch = new CompletableFuture<>();
+            CompletableFuture<Path> running = inFlight.putIfAbsent(name, fetch);
+            if (running != null) {
+                coalesced.increment();
+                if (await(running) == null) {
+                    return null;
+                }
+                // Baixado por outra requisição; se já foi despejado de novo, tenta outra vez. A busca
+                // concluída sai do mapa aqui mesmo para não ser reaguardada até o dono removê-la.
+                cached = openCached(name, file);
+                if (cached != null) {
+                    return new CachedFile(name, file, cached);
+                }
+                inFlight.remove(name, running);
+                continue;
+            }
+
+            try {
+                // Outra busca pode ter terminado entre a consulta acima e o registro desta
+                cached = openCached(name, file);
+                if (cached != null) {
+                    hits.increment();
+                    fetch.complete(file);
+                    return new CachedFile(name, file, cached);
+                }
+
+                misses.increment();
+                FileChannel fetched = download(key, name, file);
+                fetch.complete(fetched != null ? file : null);
+                return fetched != null ? new CachedFile(name, file, fetched) : null;
+            } catch (IOException | RuntimeException e) {
+                fetch.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(name, fetch);
+            }
+        }
+    }
+
+    // Consulta e abre com o lock: em modo de acesso, get() também reordena a lista
+    private FileChannel openCached(String name, Path file) throws IOException {
+        lock.lock();
+        try {
+            if (entries.get(name) == null) {
+                return null;
+            }
+            return FileChannel.open(file);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private FileChannel download(String key, String name, Path file) throws IOException {
+        InputStream source = fileService.openFile(key);
+        if (source == null) {
+            return null;
+        }
+
+        Path partial = cacheDir.resolve(name + "-" + UUID.randomUUID() + PARTIAL_SUFFIX);
+        try (InputStream input = source) {
+            long size = Files.copy(input, partial);
+            Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            lock.lock();
+            try {
+                Long previous = entries.put(name, size);
+                cachedBytes += size - (previous == null ? 0 : previous);
+                evict(name);
+                return FileChannel.open(file);
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            Files.deleteIfExists(partial);
+        }
+    }
+
+    // Segura o arquivo contra o despejo por sendfileHold; false se ele já saiu do cache. O
+    // sendfile do Tomcat reabre o arquivo pelo nome depois que o controller retorna, quando o
+    // FileChannel de CachedFile já foi fechado.
+    private boolean hold(String name) {
+        lock.lock();
+        try {
+            if (!entries.containsKey(name)) {
+                return false;
+            }
+            held.put(name, System.nanoTime() + sendfileHold.toNanos());
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Remove os menos usados até caber no limite, sem tocar no arquivo que acabou de entrar nem
+    // nos que estão com o sendfile (ver hold); enquanto isso o cache pode passar do limite.
+    // Quem envia pelo FileChannel (ver open) não precisa disso: o arquivo removido continua
+    // legível pelo handle aberto até ele ser fechado.
+    private void evict(String keep) {
+        long now = System.nanoTime();
+        held.values().removeIf(until -> until - now <= 0);
+
+        Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+        while (cachedBytes > maxSize.toBytes() && iterator.hasNext()) {
+            Map.Entry<String, Long> entry = iterator.next();
+            if (entry.getKey().equals(keep) || held.containsKey(entry.getKey())) {
+                continue;
+            }
+            try {
+                Files.deleteIfExists(cacheDir.resolve(entry.getKey()));
+            } catch (IOException e) {
+                log.warn("Não foi possível remover {} do cache de imagens", entry.getKey(), e);
+                continue;
+            }
+            cachedBytes -= entry.getValue();
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+
+    private static Path await(CompletableFuture<Path> fetch) throws IOException {
+        try {
+            return fetch.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException io) throw io;
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            throw e;
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Arquivo do cache aberto por open(): o canal para enviar daqui mesmo ou, com hold(), o
+    // caminho para o sendfile do Tomcat
+    public final class CachedFile implements Closeable {
+
+        private final String name;
+        private final Path path;
+        private final FileChannel channel;
+
+        private CachedFile(String name, Path path, FileChannel channel) {
+            this.name = name;
+            this.path = path;
+            this.channel = channel;
+        }
+
+        public Path path() {
+            return path;
+        }
+
+        public FileChannel channel() {
+            return channel;
+        }
+
+        public boolean hold() {
+            return ImageCacheService.this.hold(name);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    public ImageCacheStats stats() {
+        lock.lock();
+        try {
+            return new ImageCacheStats(hits.sum(), misses.sum(), coalesced.sum(), evictions.sum(),
+                    entries.size(), cachedBytes, maxSize.toBytes());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public record ImageCacheStats(
+        long hits,
+        long misses,
+        long coalesced,
+        long evictions,
+        int entries,
+        long cachedBytes,
+        long maxBytes
+    ) {}
+}
@@ -0,0 +1,117 @@
+package com.financialboost.api.services;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.financialboost.api.services.images.ReceiptImageProcessor;
+import com.financialboost.api.services.images.ReceiptImageProcessor.ProcessedImage;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Redimensionamento é CPU-bound: roda num pool do tamanho dos núcleos, separado dos
+// workers de envio (I/O-bound), com fila limitada
+@Service
+public class ImageProcessingService {
+
+    @Value("${api.images.max-dimension:1600}")
+    private int maxDimension;
+
+    @Value("${api.images.thumbnail-size:320}")
+    private int thumbnailSize;
+
+    @Value("${api.images.quality:0.8}")
+    private float quality;
+
+    // 0 = um worker por núcleo
+    @Value("${api.images.workers:0}")
+    private int workers;
+
+    private ReceiptImageProcessor processor;
+
+    private ThreadPoolExecutor executor;
+
+    private final LongAdder images = new LongAdder();
+    private final LongAdder originalBytes = new LongAdder();
+    private final LongAdder storedBytes = new LongAdder();
+    private final LongAdder thumbnailBytes = new LongAdder();
+    private final LongAdder processingNanos = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        if (workers <= 0) {
+            workers = Runtime.getRuntime().availableProcessors();
+        }
+        processor = new ReceiptImageProcessor(maxDimension, thumbnailSize, quality);
+
+        // Fila cheia: quem submeteu processa na própria thread, freando os envios
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workers * 4),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-processing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Grava a imagem reduzida em "image" e a miniatura em "thumbnail"; null se "source" não é imagem
+    public ProcessedImage process(Path source, Path image, Path thumbnail) throws IOException, InterruptedException {
+        try {
+            return executor.submit(() -> {
+                long start = System.nanoTime();
+                ProcessedImage processed = processor.process(source, image, thumbnail);
+                if (processed != null) {
+                    processingNanos.add(System.nanoTime() - start);
+                    images.increment();
+                    originalBytes.add(processed.originalBytes());
+                    storedBytes.add(processed.imageBytes());
+                    thumbnailBytes.add(processed.thumbnailBytes());
+                }
+                return processed;
+            }).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) throw io;
+            throw new IOException("Falha ao processar imagem", e.getCause());
+        }
+    }
+
+    public ImageProcessingStats stats() {
+        long count = images.sum();
+        long nanos = processingNanos.sum();
+        long original = originalBytes.sum();
+        long stored = storedBytes.sum();
+
+        // Vazão estimada com todos os workers ocupados: imagens por segundo de CPU x workers
+        double imagesPerSecond = nanos == 0 ? 0 : count * 1_000_000_000.0 / nanos * workers;
+
+        return new ImageProcessingStats(count, original, stored, thumbnailBytes.sum(), original - stored,
+                imagesPerSecond, workers, executor.getQueue().size());
+    }
+
+    public record ImageProcessingStats(
+        long images,
+        long originalBytes,
+        long storedBytes,
+        long thumbnailBytes,
+        long bytesSaved,
+        double imagesPerSecond,
+        int workers,
+        int queued
+    ) {}
+}
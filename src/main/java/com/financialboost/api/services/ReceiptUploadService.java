@@ -0,0 +1,467 @@
+package com.financialboost.api.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.financialboost.api.domain.storage.StoredFile;
+import com.financialboost.api.domain.transaction.PresignedUploadDTO;
+import com.financialboost.api.domain.transaction.Transaction;
+import com.financialboost.api.domain.transaction.Transaction.ImageStatus;
+import com.financialboost.api.repository.TransactionRepository;
+import com.financialboost.api.services.FileService.ObjectInfo;
+import com.financialboost.api.services.images.ReceiptImageProcessor.ProcessedImage;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Envia comprovantes ao S3 fora da requisição: a transação é gravada como PENDING e um
+// worker atualiza imgUrl/imgStatus quando o envio termina
+@Service
+public class ReceiptUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReceiptUploadService.class);
+
+    private static final String OBJECT_PREFIX = "receipts/";
+
+    private static final String INCOMING_PREFIX = "incoming/";
+
+    // Pendentes há mais de stale-after não têm mais worker: o processo que os aceitou parou
+    // ou perdeu o arquivo do spool
+    private static final String FAIL_STALE_SQL = """
+        WITH failed AS (
+            UPDATE transactions SET img_status = ?
+            WHERE img_status = ? AND (img_pending_since IS NULL OR img_pending_since < ?)
+            RETURNING user_id
+        )
+        SELECT DISTINCT user_id FROM failed
+        """;
+
+    @Autowired
+    FileService fileService;
+
+    @Autowired
+    ImageProcessingService imageProcessingService;
+
+    @Autowired
+    StoredFileService storedFileService;
+
+    @Autowired
+    TransactionRepository repository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    DataVersionService dataVersions;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Value("${api.receipts.workers:4}")
+    private int workers;
+
+    @Value("${api.receipts.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${api.receipts.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${api.receipts.retry-backoff:500ms}")
+    private Duration retryBackoff;
+
+    @Value("${api.receipts.presign-ttl:PT10M}")
+    private Duration presignTtl;
+
+    @Value("${api.receipts.max-size:50MB}")
+    private DataSize maxSize;
+
+    @Value("${api.receipts.spool-dir:${java.io.tmpdir}/financialboost-receipts}")
+    private Path spoolDir;
+
+    @Value("${api.receipts.stale-after:PT30M}")
+    private Duration staleAfter;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private ExecutorService executor;
+
+    // Uma vaga por envio em andamento ou na fila; sem vaga a requisição recebe 503
+    private Semaphore slots;
+
+    @PostConstruct
+    void init() throws IOException {
+        Files.createDirectories(spoolDir);
+        clearSpool();
+        failStale();
+        slots = new Semaphore(workers + queueCapacity);
+
+        // Envio é I/O-bound: no modo virtual threads os workers também são virtuais
+        // (a quantidade continua limitada por "workers")
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("receipt-upload-", 1).factory()
+                : runnable -> {
+                    Thread thread = new Thread(runnable, "receipt-upload-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                };
+        executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), threadFactory);
+    }
+
+    // O spool é local e a fila só existe em memória: o que sobrou de uma execução anterior
+    // (queda ou reinício) nunca vai ser enviado, então os arquivos são apagados. As transações
+    // que esperavam por eles viram FAILED no failStale seguinte.
+    private void clearSpool() throws IOException {
+        int removed = 0;
+        try (Stream<Path> files = Files.list(spoolDir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (Files.isRegularFile(file)) {
+                    deleteQuietly(file);
+                    removed++;
+                }
+            }
+        }
+        if (removed > 0) {
+            log.info("Comprovantes abandonados: {} arquivos removidos do spool", removed);
+        }
+    }
+
+    // Pendentes há mais de stale-after viram FAILED, para o cliente reenviar o comprovante.
+    // Roda no início e periodicamente: os deixados por uma queda desta ou de outra instância
+    // ainda não tinham stale-after no reinício. Um worker que ainda termine depois disso grava
+    // o resultado normalmente (o token do envio não muda).
+    @Scheduled(fixedDelayString = "${api.receipts.stale-sweep-interval:PT5M}",
+            initialDelayString = "${api.receipts.stale-sweep-interval:PT5M}")
+    public int failStale() {
+        LocalDateTime before = LocalDateTime.now().minus(staleAfter);
+        List<UUID> users = jdbcTemplate.queryForList(FAIL_STALE_SQL, UUID.class,
+                ImageStatus.FAILED.ordinal(), ImageStatus.PENDING.ordinal(), Timestamp.valueOf(before));
+        users.forEach(dataVersions::bump);
+
+        if (!users.isEmpty()) {
+            log.info("Comprovantes pendentes há mais de {} marcados como FAILED ({} usuários)", staleAfter, users.size());
+        }
+        return users.size();
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    // Reserva uma vaga e copia o upload para o spool antes que a requisição termine.
+    // Retorna null quando a fila está cheia. O envio só é agendado se a transação do banco
+    // confirmar; em rollback o arquivo é descartado e a vaga devolvida.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public PendingReceipt spool(MultipartFile image) throws IOException {
+        if (!slots.tryAcquire()) {
+            return null;
+        }
+
+        PendingReceipt receipt = new PendingReceipt(
+                spoolDir.resolve("receipt-" + UUID.randomUUID()),
+                image.getOriginalFilename(),
+                image.getContentType());
+
+        // O SHA-256 é calculado na mesma passada que grava o spool
+        MessageDigest sha256 = newSha256();
+        try (InputStream input = new DigestInputStream(image.getInputStream(), sha256)) {
+            Files.copy(input, receipt.file);
+            receipt.digest = HexFormat.of().formatHex(sha256.digest());
+        } catch (IOException | RuntimeException e) {
+            discard(receipt);
+            throw e;
+        }
+
+        submitAfterCommit(receipt);
+        return receipt;
+    }
+
+    // Chave em incoming/<userId>/ para o cliente enviar o arquivo direto ao bucket
+    public PresignedUploadDTO presign(UUID userId, String contentType) {
+        String key = INCOMING_PREFIX + userId + "/" + UUID.randomUUID();
+        Instant expiresAt = Instant.now().plus(presignTtl);
+        String url = fileService.presignUpload(key, contentType, presignTtl).toString();
+        return new PresignedUploadDTO(key, url, contentType, expiresAt);
+    }
+
+    // Comprovante que o cliente já enviou direto ao bucket (URL assinada). O worker baixa o
+    // objeto para o spool e segue o mesmo caminho de um upload multipart; depois remove o original.
+    // IllegalArgumentException quando a chave não é do usuário, não existe ou passa do limite
+    // (não marca a transação do chamador para rollback: o controller responde 400).
+    @Transactional(propagation = Propagation.MANDATORY, noRollbackFor = IllegalArgumentException.class)
+    public PendingReceipt fromStorage(UUID userId, String key) throws IOException {
+        if (!key.startsWith(INCOMING_PREFIX + userId + "/") || key.contains("..")) {
+            throw new IllegalArgumentException("imageKey inválida");
+        }
+
+        ObjectInfo info = fileService.getObjectInfo(key);
+        if (info == null) {
+            throw new IllegalArgumentException("Imagem não encontrada no armazenamento");
+        }
+        if (info.size() > maxSize.toBytes()) {
+            throw new IllegalArgumentException("Imagem maior que o limite de " + maxSize.toMegabytes() + "MB");
+        }
+
+        if (!slots.tryAcquire()) {
+            return null;
+        }
+
+        PendingReceipt receipt = new PendingReceipt(
+                spoolDir.resolve("receipt-" + UUID.randomUUID()),
+                key.substring(key.lastIndexOf('/') + 1),
+                info.contentType());
+        receipt.sourceKey = key;
+
+        submitAfterCommit(receipt);
+        return receipt;
+    }
+
+    private void submitAfterCommit(PendingReceipt receipt) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED && receipt.transactionId != null) {
+                    submit(receipt);
+                } else {
+                    discard(receipt);
+                }
+            }
+        });
+    }
+
+    public int getQueuedCount() {
+        return workers + queueCapacity - slots.availablePermits();
+    }
+
+    private void submit(PendingReceipt receipt) {
+        try {
+            executor.execute(() -> upload(receipt));
+        } catch (RejectedExecutionException e) {
+            log.warn("Envio do comprovante da transação {} recusado: executor encerrado", receipt.transactionId);
+            markFailed(receipt);
+            discard(receipt);
+        }
+    }
+
+    private void upload(PendingReceipt receipt) {
+        Path image = receipt.file.resolveSibling(receipt.file.getFileName() + "-image.jpg");
+        Path thumbnail = receipt.file.resolveSibling(receipt.file.getFileName() + "-thumb.jpg");
+
+        try {
+            if (receipt.sourceKey != null) {
+                try {
+                    fetch(receipt);
+                } catch (IOException e) {
+                    log.warn("Não foi possível baixar {} para a transação {}", receipt.sourceKey, receipt.transactionId, e);
+                    markFailed(receipt);
+                    return;
+                }
+            }
+
+            // Mesmo conteúdo já armazenado (outra transação ou reenvio do cliente): só referencia
+            StoredFile stored = storedFileService.claim(receipt.digest);
+            if (stored != null) {
+                attach(receipt, stored.getUrl(), stored.getThumbnailUrl());
+                return;
+            }
+
+            // Imagens são reduzidas uma vez, antes das tentativas de envio; outros arquivos
+            // (ex.: PDF) ou imagens ilegíveis seguem como vieram
+            ProcessedImage processed = null;
+            try {
+                processed = imageProcessingService.process(receipt.file, image, thumbnail);
+            } catch (IOException e) {
+                log.warn("Comprovante da transação {} enviado sem redimensionar", receipt.transactionId, e);
+            }
+
+            // Chaves derivadas do digest: reenviar o mesmo conteúdo sobrescreve o mesmo objeto
+            String objectKey = OBJECT_PREFIX + receipt.digest + (processed != null ? ".jpg" : extension(receipt.originalFilename));
+            String thumbnailKey = processed != null ? OBJECT_PREFIX + receipt.digest + "-thumb.jpg" : null;
+
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    String imgUrl;
+                    String thumbnailUrl = null;
+                    if (processed != null) {
+                        imgUrl = fileService.uploadFile(image, objectKey, "image/jpeg");
+                        thumbnailUrl = fileService.uploadFile(thumbnail, thumbnailKey, "image/jpeg");
+                    } else {
+                        imgUrl = fileService.uploadFile(receipt.file, objectKey, receipt.contentType);
+                    }
+
+                    storedFileService.register(receipt.digest, objectKey, imgUrl, thumbnailKey, thumbnailUrl, Files.size(receipt.file));
+                    attach(receipt, imgUrl, thumbnailUrl);
+                    return;
+                } catch (IOException e) {
+                    if (attempt >= maxAttempts) {
+                        log.warn("Envio do comprovante da transação {} falhou após {} tentativas", receipt.transactionId, attempt, e);
+                        markFailed(receipt);
+                        return;
+                    }
+                    // Backoff exponencial: retryBackoff, 2x, 4x...
+                    Thread.sleep(retryBackoff.toMillis() << (attempt - 1));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            markFailed(receipt);
+        } finally {
+            deleteQuietly(image);
+            deleteQuietly(thumbnail);
+            discard(receipt);
+        }
+    }
+
+    private void fetch(PendingReceipt receipt) throws IOException {
+        MessageDigest sha256 = newSha256();
+        InputStream source = fileService.openFile(receipt.sourceKey);
+        if (source == null) {
+            throw new IOException("Objeto " + receipt.sourceKey + " não encontrado");
+        }
+        // O HEAD de fromStorage é anterior ao worker e a URL assinada continua válida: o cliente
+        // pode ter trocado o objeto por um maior, então o limite vale também durante a cópia
+        long limit = maxSize.toBytes();
+        long copied = 0;
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream input = new DigestInputStream(source, sha256);
+                OutputStream output = Files.newOutputStream(receipt.file)) {
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                copied += read;
+                if (copied > limit) {
+                    throw new IOException("Objeto " + receipt.sourceKey + " maior que o limite de " + maxSize.toMegabytes() + "MB");
+                }
+                output.write(buffer, 0, read);
+            }
+        }
+        receipt.digest = HexFormat.of().formatHex(sha256.digest());
+    }
+
+    private void attach(PendingReceipt receipt, String imgUrl, String thumbnailUrl) {
+        Integer updated = new TransactionTemplate(transactionManager).execute(status -> repository.updateImage(
+                receipt.transactionId, receipt.token, imgUrl, thumbnailUrl, receipt.digest, ImageStatus.UPLOADED));
+        if (updated != null && updated > 0) {
+            dataVersions.bump(receipt.userId);
+        } else {
+            // Sem referência, o arquivo enviado é coletado por StoredFileService depois da carência
+            log.info("Comprovante da transação {} substituído por um envio mais recente; resultado descartado", receipt.transactionId);
+        }
+
+        // O objeto em incoming/ já foi copiado para a chave definitiva; se a remoção falhar,
+        // a regra de ciclo de vida do bucket expira o prefixo
+        if (receipt.sourceKey != null) {
+            try {
+                fileService.deleteFile(receipt.sourceKey);
+            } catch (IOException e) {
+                log.warn("Não foi possível remover {}", receipt.sourceKey, e);
+            }
+        }
+    }
+
+    // Extensão original só com caracteres seguros para a chave (".pdf", ".heic"...)
+    private static String extension(String originalFilename) {
+        if (originalFilename == null) return "";
+        int dot = originalFilename.lastIndexOf('.');
+        if (dot < 0) return "";
+        String extension = originalFilename.substring(dot).toLowerCase();
+        return extension.matches("\\.[a-z0-9]{1,8}") ? extension : "";
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void markFailed(PendingReceipt receipt) {
+        Integer updated = new TransactionTemplate(transactionManager).execute(status ->
+                repository.updateImageStatus(receipt.transactionId, receipt.token, ImageStatus.FAILED));
+        if (updated != null && updated > 0) {
+            dataVersions.bump(receipt.userId);
+        }
+    }
+
+    private void discard(PendingReceipt receipt) {
+        try {
+            deleteQuietly(receipt.file);
+        } finally {
+            slots.release();
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Não foi possível remover {}", file, e);
+        }
+    }
+
+    public static class PendingReceipt {
+        private final Path file;
+        private final String originalFilename;
+        private final String contentType;
+        private String digest;
+        private String sourceKey;
+        private Integer transactionId;
+        private UUID userId;
+        private UUID token;
+
+        private PendingReceipt(Path file, String originalFilename, String contentType) {
+            this.file = file;
+            this.originalFilename = originalFilename;
+            this.contentType = contentType;
+        }
+
+        // Liga o arquivo à transação gravada (já marcada com markImagePending); sem isso o
+        // envio é descartado no commit
+        public void attachTo(Transaction transaction) {
+            this.transactionId = transaction.getId();
+            this.userId = transaction.getUser().getId();
+            this.token = transaction.getImgUploadToken();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.financialboost.api.services;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.financialboost.api.domain.storage.StoredFile;
+import com.financialboost.api.repository.StoredFileRepository;
+
+// Deduplicação dos comprovantes: o mesmo conteúdo (mesmo SHA-256) é enviado ao S3 uma vez
+// só e reaproveitado pelas demais transações, sem HEAD no S3 para saber se já existe
+@Service
+public class StoredFileService {
+
+    private static final Logger log = LoggerFactory.getLogger(StoredFileService.class);
+
+    private static final int GC_BATCH_SIZE = 100;
+
+    @Autowired
+    StoredFileRepository repository;
+
+    @Autowired
+    FileService fileService;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    // Maior que o tempo de um envio: um arquivo reservado nunca é coletado antes de a
+    // transação que o reaproveitou gravar a referência
+    @Value("${api.receipts.gc-grace:PT24H}")
+    private Duration gcGrace;
+
+    // Renova o uso e devolve o arquivo já armazenado, ou null se o conteúdo é novo
+    @Transactional
+    public StoredFile claim(String digest) {
+        if (repository.touch(digest, LocalDateTime.now()) == 0) {
+            return null;
+        }
+        return repository.findById(digest).orElse(null);
+    }
+
+    @Transactional
+    public void register(String digest, String objectKey, String url, String thumbnailKey, String thumbnailUrl, long size) {
+        repository.register(digest, objectKey, url, thumbnailKey, thumbnailUrl, size, LocalDateTime.now());
+    }
+
+    // Remove do S3 e do índice os arquivos que nenhuma transação referencia há mais que a
+    // carência. O objeto é apagado com a linha ainda travada: quem tentar reaproveitá-lo
+    // espera o commit, não acha a linha e envia de novo.
+    @Scheduled(fixedDelayString = "${api.receipts.gc-interval:PT1H}")
+    public int collectGarbage() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(gcGrace);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int removed = 0;
+
+        List<String> candidates;
+        do {
+            candidates = repository.findUnreferenced(cutoff, GC_BATCH_SIZE);
+            for (String digest : candidates) {
+                try {
+                    Boolean deleted = transaction.execute(status -> {
+                        StoredFile file = repository.findById(digest).orElse(null);
+                        if (file == null || repository.deleteIfUnreferenced(digest, cutoff) == 0) {
+                            return false;
+                        }
+                        deleteObject(file.getObjectKey());
+                        if (file.getThumbnailKey() != null) {
+                            deleteObject(file.getThumbnailKey());
+                        }
+                        return true;
+                    });
+                    if (Boolean.TRUE.equals(deleted)) removed++;
+                } catch (UncheckedIOException e) {
+                    log.warn("Não foi possível coletar o arquivo {}", digest, e);
+                    return removed;
+                }
+            }
+        } while (candidates.size() == GC_BATCH_SIZE);
+
+        return removed;
+    }
+
+    private void deleteObject(String key) {
+        try {
+            fileService.deleteFile(key);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.financialboost.api.services;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.financialboost.api.domain.category.CategoryResponseDTO;
+import com.financialboost.api.domain.sync.SyncCursor;
+import com.financialboost.api.domain.sync.SyncDeletionDTO;
+import com.financialboost.api.domain.sync.SyncResponseDTO;
+import com.financialboost.api.domain.transaction.Transaction.ImageStatus;
+import com.financialboost.api.domain.transaction.Transaction.Operation;
+import com.financialboost.api.domain.transaction.Transaction.TransactionType;
+import com.financialboost.api.domain.transaction.TransactionResponseDTO;
+
+// Alterações de transações e categorias depois de um cursor, lidas pelos índices
+// (user_id, change_xid, change_seq): o custo acompanha o tamanho da mudança, não do histórico
+@Service
+public class SyncService {
+
+    private static final Logger log = LoggerFactory.getLogger(SyncService.class);
+
+    // Transações do banco abaixo deste xid já terminaram; acima dele ainda podem confirmar
+    private static final String HORIZON_SQL = "SELECT pg_snapshot_xmin(pg_current_snapshot())::text";
+
+    // Todas as consultas recebem: user_id, cursor (xid, seq), horizonte e limite
+    private static final String TRANSACTIONS_SQL = """
+        SELECT t.id, c.name AS category_name, t.category_id, t.operation, t.type, t.datetime, t.value,
+               t.img_url, t.thumbnail_url, t.img_status, t.change_xid::text AS xid, t.change_seq
+        FROM transactions t JOIN categories c ON c.id = t.category_id
+        WHERE t.user_id = ? AND (t.change_xid, t.change_seq) > (CAST(? AS xid8), ?) AND t.change_xid < CAST(? AS xid8)
+        ORDER BY t.change_xid, t.change_seq
+        LIMIT ?
+        """;
+
+    private static final String CATEGORIES_SQL = """
+        SELECT id, name, icon, user_id, change_xid::text AS xid, change_seq
+        FROM categories
+        WHERE user_id = ? AND (change_xid, change_seq) > (CAST(? AS xid8), ?) AND change_xid < CAST(? AS xid8)
+        ORDER BY change_xid, change_seq
+        LIMIT ?
+        """;
+
+    private static final String TOMBSTONES_SQL = """
+        SELECT entity, entity_id, change_xid::text AS xid, change_seq
+        FROM sync_tombstones
+        WHERE user_id = ? AND (change_xid, change_seq) > (CAST(? AS xid8), ?) AND change_xid < CAST(? AS xid8)
+        ORDER BY change_xid, change_seq
+        LIMIT ?
+        """;
+
+    // Posição do último tombstone removido pela retenção
+    private static final String PURGED_SQL = "SELECT purged_xid::text, purged_seq FROM sync_retention";
+
+    // Remove os tombstones antigos e avança a posição em sync_retention numa instrução só:
+    // quem sincroniza vê as duas mudanças juntas ou nenhuma
+    private static final String PURGE_SQL = """
+        WITH purged AS (
+            DELETE FROM sync_tombstones WHERE deleted_at < ?
+            RETURNING change_xid, change_seq
+        ), last AS (
+            SELECT change_xid, change_seq FROM purged ORDER BY change_xid DESC, change_seq DESC LIMIT 1
+        ), moved AS (
+            UPDATE sync_retention r SET purged_xid = last.change_xid, purged_seq = last.change_seq
+            FROM last
+            WHERE (last.change_xid, last.change_seq) > (r.purged_xid, r.purged_seq)
+        )
+        SELECT count(*) FROM purged
+        """;
+
+    private static final Comparator<Change> ORDER =
+            Comparator.comparingLong(Change::xid).thenComparingLong(Change::seq);
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Value("${api.sync.tombstone-retention:P30D}")
+    private Duration tombstoneRetention;
+
+    @Transactional(readOnly = true)
+    public SyncResponseDTO changesSince(UUID userId, SyncCursor cursor, int limit) {
+        long horizon = Long.parseLong(jdbcTemplate.queryForObject(HORIZON_SQL, String.class));
+
+        // Remoções depois do cursor podem já ter sido descartadas: recomeça do início
+        SyncCursor purged = jdbcTemplate.queryForObject(PURGED_SQL,
+                (rs, row) -> new SyncCursor(Long.parseLong(rs.getString(1)), rs.getLong(2)));
+        boolean resync = !cursor.equals(SyncCursor.START) && cursor.isBefore(purged);
+        if (resync) {
+            cursor = SyncCursor.START;
+        }
+
+        // Cada tabela traz até limit + 1; a página é o começo da junção ordenada das três
+        Object[] args = { userId, Long.toString(cursor.xid()), cursor.seq(), Long.toString(horizon), limit + 1 };
+        List<Change> changes = new ArrayList<>();
+        changes.addAll(jdbcTemplate.query(TRANSACTIONS_SQL, (rs, row) -> new Change(
+                Long.parseLong(rs.getString("xid")), rs.getLong("change_seq"),
+                new TransactionResponseDTO(
+                        rs.getInt("id"),
+                        rs.getString("category_name"),
+                        rs.getInt("category_id"),
+                        Operation.values()[rs.getInt("operation")],
+                        TransactionType.values()[rs.getInt("type")],
+                        rs.getTimestamp("datetime").toLocalDateTime(),
+                        rs.getBigDecimal("value"),
+                        rs.getString("img_url"),
+                        rs.getString("thumbnail_url"),
+                        imageStatus(rs.getObject("img_status", Integer.class)))), args));
+        changes.addAll(jdbcTemplate.query(CATEGORIES_SQL, (rs, row) -> new Change(
+                Long.parseLong(rs.getString("xid")), rs.getLong("change_seq"),
+                new CategoryResponseDTO(
+                        rs.getInt("id"),
+                        rs.getString("name"),
+                        rs.getString("icon"),
+                        rs.getObject("user_id", UUID.class))), args));
+        changes.addAll(jdbcTemplate.query(TOMBSTONES_SQL, (rs, row) -> new Change(
+                Long.parseLong(rs.getString("xid")), rs.getLong("change_seq"),
+                new SyncDeletionDTO(rs.getString("entity"), rs.getInt("entity_id"))), args));
+
+        changes.sort(ORDER);
+        boolean hasMore = changes.size() > limit;
+        if (hasMore) {
+            changes = changes.subList(0, limit);
+        }
+
+        List<TransactionResponseDTO> transactions = new ArrayList<>();
+        List<CategoryResponseDTO> categories = new ArrayList<>();
+        List<SyncDeletionDTO> deleted = new ArrayList<>();
+        for (Change change : changes) {
+            switch (change.item()) {
+                case TransactionResponseDTO transaction -> transactions.add(transaction);
+                case CategoryResponseDTO category -> categories.add(category);
+                case SyncDeletionDTO deletion -> deleted.add(deletion);
+                default -> throw new IllegalStateException();
+            }
+        }
+
+        // Página cheia: continua do último item. Senão tudo abaixo do horizonte foi entregue.
+        Change last = hasMore ? changes.get(changes.size() - 1) : null;
+        SyncCursor next = last != null
+                ? new SyncCursor(last.xid(), last.seq())
+                : new SyncCursor(Math.max(horizon, cursor.xid()), 0);
+
+        return new SyncResponseDTO(transactions, categories, deleted, next.encode(), hasMore, resync);
+    }
+
+    // Tombstones só servem a clientes com cursor anterior a eles; depois da retenção, esses
+    // clientes recebem a ressincronização completa em vez das remoções
+    @Scheduled(fixedDelayString = "${api.sync.tombstone-purge-interval:PT1H}")
+    public int purgeTombstones() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(tombstoneRetention);
+        Integer purged = jdbcTemplate.queryForObject(PURGE_SQL, Integer.class, cutoff);
+        if (purged != null && purged > 0) {
+            log.info("{} tombstones do sync anteriores a {} removidos", purged, cutoff);
+        }
+        return purged != null ? purged : 0;
+    }
+
+    private static ImageStatus imageStatus(Integer ordinal) {
+        return ordinal != null ? ImageStatus.values()[ordinal] : null;
+    }
+
+    private record Change(long xid, long seq, Object item) {}
+}
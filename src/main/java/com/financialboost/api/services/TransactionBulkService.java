@@ -0,0 +1,141 @@
+package com.financialboost.api.services;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.financialboost.api.domain.transaction.Transaction.Operation;
+import com.financialboost.api.domain.transaction.TransactionFilter;
+import com.financialboost.api.repository.TransactionSpecifications;
+import com.financialboost.api.repository.UserBalanceRepository;
+
+// Remoção e recategorização em massa: uma instrução SQL com o dono no WHERE, sem carregar
+// entidades. O próprio SQL agrupa as linhas afetadas por mês/categoria/operação, e saldo e
+// resumo recebem um delta por grupo na mesma transação (como na importação).
+@Service
+public class TransactionBulkService {
+
+    private static final String DELETE_SQL = """
+        WITH deleted AS (
+            DELETE FROM transactions
+            WHERE %s
+            RETURNING datetime, category_id, operation, value
+        )
+        SELECT date_trunc('month', datetime) AS month, category_id, operation, SUM(value) AS total, COUNT(*) AS count
+        FROM deleted
+        GROUP BY 1, 2, 3
+        """;
+
+    // O RETURNING só enxerga o valor novo: a subconsulta trava as linhas e guarda a categoria anterior
+    private static final String RECATEGORIZE_SQL = """
+        WITH changed AS (
+            UPDATE transactions t SET category_id = ?
+            FROM (
+                SELECT id, category_id FROM transactions
+                WHERE %s AND category_id <> ?
+                FOR UPDATE
+            ) previous
+            WHERE t.id = previous.id
+            RETURNING t.datetime, previous.category_id, t.operation, t.value
+        )
+        SELECT date_trunc('month', datetime) AS month, category_id, operation, SUM(value) AS total, COUNT(*) AS count
+        FROM changed
+        GROUP BY 1, 2, 3
+        """;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    BalanceService balanceService;
+
+    @Autowired
+    TransactionSummaryService summaryService;
+
+    @Autowired
+    UserBalanceRepository userBalanceRepository;
+
+    // ids nulo não restringe por id; o filtro sempre restringe pelo usuário
+    @Transactional
+    public int delete(TransactionFilter filter, List<Integer> ids) {
+        if (ids != null && ids.isEmpty()) return 0;
+
+        List<Object> args = new ArrayList<>();
+        String where = where(filter, ids, args);
+        List<Group> groups = jdbcTemplate.query(DELETE_SQL.formatted(where), TransactionBulkService::mapGroup, args.toArray());
+
+        Map<LocalDateTime, BigDecimal> balanceDeltas = new HashMap<>();
+        for (Group group : groups) {
+            BigDecimal signed = group.operation() == Operation.NEGATIVE ? group.total().negate() : group.total();
+            balanceDeltas.merge(group.month(), signed.negate(), BigDecimal::add);
+        }
+        // Mesma ordem de travas da criação/edição/importação: linhas de transactions, saldo do
+        // usuário e só então o resumo; na ordem inversa uma criação concorrente pode dar deadlock
+        balanceDeltas.forEach((month, delta) -> balanceService.apply(filter.userId(), month, delta));
+
+        int affected = 0;
+        for (Group group : groups) {
+            summaryService.apply(filter.userId(), group.month(), group.categoryId(), group.operation(),
+                    group.total().negate(), -group.count());
+            affected += group.count();
+        }
+        return affected;
+    }
+
+    // Troca de categoria não mexe no saldo, só move totais entre buckets do resumo
+    @Transactional
+    public int recategorize(TransactionFilter filter, List<Integer> ids, Integer categoryId) {
+        if (ids != null && ids.isEmpty()) return 0;
+
+        List<Object> args = new ArrayList<>();
+        args.add(categoryId);
+        String where = where(filter, ids, args);
+        args.add(categoryId);
+        List<Group> groups = jdbcTemplate.query(RECATEGORIZE_SQL.formatted(where), TransactionBulkService::mapGroup, args.toArray());
+        if (groups.isEmpty()) return 0;
+
+        // O saldo não muda, mas a trava do usuário serializa com as outras escritas antes do resumo
+        userBalanceRepository.lockByUserId(filter.userId());
+
+        int affected = 0;
+        for (Group group : groups) {
+            summaryService.apply(filter.userId(), group.month(), group.categoryId(), group.operation(),
+                    group.total().negate(), -group.count());
+            summaryService.apply(filter.userId(), group.month(), categoryId, group.operation(),
+                    group.total(), group.count());
+            affected += group.count();
+        }
+        return affected;
+    }
+
+    // Predicados do filtro vêm de TransactionSpecifications, os mesmos da listagem
+    private static String where(TransactionFilter filter, List<Integer> ids, List<Object> args) {
+        String where = TransactionSpecifications.sqlWhere(filter, args);
+        if (ids != null) {
+            where += " AND id = ANY(?)";
+            args.add(ids.toArray(Integer[]::new));
+        }
+        return where;
+    }
+
+    private static Group mapGroup(ResultSet rs, int row) throws SQLException {
+        return new Group(
+                rs.getTimestamp("month").toLocalDateTime(),
+                rs.getInt("category_id"),
+                Operation.values()[rs.getInt("operation")],
+                rs.getBigDecimal("total"),
+                rs.getInt("count"));
+    }
+
+    private record Group(LocalDateTime month, Integer categoryId, Operation operation, BigDecimal total, int count) {}
+}
@@ -0,0 +1,103 @@
+package com.financialboost.api.services;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.financialboost.api.domain.exports.ExportFormat;
+import com.financialboost.api.domain.transaction.TransactionFilter;
+import com.financialboost.api.domain.transaction.TransactionResponseDTO;
+import com.financialboost.api.repository.TransactionRepository;
+import com.financialboost.api.repository.TransactionSpecifications;
+
+@Service
+public class TransactionExportService {
+
+    private static final Sort OLDEST_FIRST = Sort.by(Sort.Order.asc("datetime"), Sort.Order.asc("id"));
+
+    private static final String CSV_HEADER = "id,datetime,value,operation,type,categoryId,categoryName,imgUrl\n";
+
+    @Autowired
+    TransactionRepository repository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Value("${api.export.fetch-size:1000}")
+    private int fetchSize;
+
+    // Cada linha lida do cursor é escrita e descartada: o heap usado não depende do total de transações
+    @Transactional(readOnly = true)
+    public long export(TransactionFilter filter, ExportFormat format, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 64 * 1024);
+        long rows = 0;
+
+        try (Stream<TransactionResponseDTO> transactions =
+                repository.streamResponses(TransactionSpecifications.byFilter(filter), OLDEST_FIRST, fetchSize)) {
+            Iterator<TransactionResponseDTO> iterator = transactions.iterator();
+
+            if (format == ExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+                while (iterator.hasNext()) {
+                    writeCsv(writer, iterator.next());
+                    rows++;
+                }
+            } else {
+                // Sem flush por linha: quem decide quando enviar ao cliente é o buffer do writer
+                ObjectWriter jsonWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+                JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+                generator.setRootValueSeparator(null);
+                while (iterator.hasNext()) {
+                    jsonWriter.writeValue(generator, iterator.next());
+                    generator.writeRaw('\n');
+                    rows++;
+                }
+                generator.flush();
+            }
+        }
+
+        writer.flush();
+        return rows;
+    }
+
+    private void writeCsv(Writer writer, TransactionResponseDTO transaction) throws IOException {
+        writer.write(String.valueOf(transaction.id()));
+        writer.write(',');
+        writer.write(transaction.datetime());
+        writer.write(',');
+        writer.write(transaction.value());
+        writer.write(',');
+        writer.write(transaction.operation().name());
+        writer.write(',');
+        writer.write(transaction.type().name());
+        writer.write(',');
+        writer.write(String.valueOf(transaction.categoryId()));
+        writer.write(',');
+        writer.write(escapeCsv(transaction.categoryName()));
+        writer.write(',');
+        writer.write(transaction.imgUrl() == null ? "" : escapeCsv(transaction.imgUrl()));
+        writer.write('\n');
+    }
+
+    private static String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
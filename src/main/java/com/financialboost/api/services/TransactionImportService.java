@@ -0,0 +1,186 @@
+package com.financialboost.api.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.financialboost.api.domain.category.Category;
+import com.financialboost.api.domain.imports.ImportErrorDTO;
+import com.financialboost.api.domain.imports.ImportFormat;
+import com.financialboost.api.domain.imports.ImportResultDTO;
+import com.financialboost.api.domain.imports.ImportedRow;
+import com.financialboost.api.domain.transaction.Transaction.Operation;
+import com.financialboost.api.domain.transaction.Transaction.TransactionType;
+import com.financialboost.api.repository.CategoryRepository;
+import com.financialboost.api.services.imports.CsvStatementReader;
+import com.financialboost.api.services.imports.OfxStatementReader;
+import com.financialboost.api.services.imports.StatementReader;
+
+@Service
+public class TransactionImportService {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO transactions (value, operation, type, datetime, category_id, user_id) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    BalanceService balanceService;
+
+    @Autowired
+    TransactionSummaryService summaryService;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Value("${api.import.batch-size:1000}")
+    private int batchSize;
+
+    // Lê o arquivo em streaming e grava em lotes; cada lote é uma transação própria, então
+    // um arquivo grande nunca fica inteiro em memória nem prende uma transação longa.
+    // Lotes já gravados permanecem mesmo se um lote posterior falhar.
+    public ImportResultDTO importStatement(UUID userId, InputStream input, ImportFormat format,
+            Integer defaultCategoryId, TransactionType defaultType) throws IOException {
+        Map<String, Integer> categoriesByName = new HashMap<>();
+        for (Category category : categoryRepository.findByUserId(userId)) {
+            categoriesByName.putIfAbsent(category.getName().trim().toLowerCase(), category.getId());
+        }
+
+        Batch batch = new Batch(userId);
+        List<ImportErrorDTO> errors = new ArrayList<>();
+        long imported = 0;
+        long failed = 0;
+
+        try (StatementReader reader = openReader(input, format, defaultType)) {
+            ImportedRow row;
+            while ((row = reader.next()) != null) {
+                String error = row.error();
+                Integer categoryId = null;
+
+                if (error == null) {
+                    categoryId = row.category() == null || row.category().isBlank()
+                            ? defaultCategoryId
+                            : categoriesByName.get(row.category().trim().toLowerCase());
+                    if (categoryId == null) {
+                        error = row.category() == null || row.category().isBlank()
+                                ? "Categoria não informada"
+                                : "Categoria não encontrada: " + row.category();
+                    }
+                }
+
+                if (error != null) {
+                    failed++;
+                    if (errors.size() < MAX_REPORTED_ERRORS) errors.add(new ImportErrorDTO(row.line(), error));
+                    continue;
+                }
+
+                batch.add(row, categoryId);
+                if (batch.size() >= batchSize) {
+                    imported += flush(batch);
+                }
+            }
+        }
+
+        imported += flush(batch);
+        return new ImportResultDTO(imported, failed, errors);
+    }
+
+    private StatementReader openReader(InputStream input, ImportFormat format, TransactionType defaultType) throws IOException {
+        return switch (format) {
+            case OFX -> new OfxStatementReader(input, defaultType);
+            case CSV -> new CsvStatementReader(input, defaultType);
+        };
+    }
+
+    private int flush(Batch batch) {
+        if (batch.size() == 0) return 0;
+
+        int size = batch.size();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch.rows);
+
+            // Saldo e resumo recebem um delta agregado por mês/bucket, não um por linha, e cada
+            // lado vai num batch JDBC: com linhas espalhadas no tempo são centenas de buckets por lote
+            balanceService.applyAll(batch.userId, batch.balanceDeltas);
+            summaryService.applyAll(batch.userId, batch.summaryChanges());
+        });
+
+        batch.clear();
+        return size;
+    }
+
+    private record SummaryKey(LocalDateTime month, Integer categoryId, Operation operation) {}
+
+    private static class SummaryDelta {
+        BigDecimal total = BigDecimal.ZERO;
+        int count;
+    }
+
+    private static class Batch {
+        final UUID userId;
+        final List<Object[]> rows = new ArrayList<>();
+        final Map<LocalDateTime, BigDecimal> balanceDeltas = new HashMap<>();
+        final Map<SummaryKey, SummaryDelta> summaryDeltas = new HashMap<>();
+
+        Batch(UUID userId) {
+            this.userId = userId;
+        }
+
+        void add(ImportedRow row, Integer categoryId) {
+            // transactions.value é BIGINT: arredonda como o banco faria para saldo e resumo baterem
+            BigDecimal value = row.value().setScale(0, RoundingMode.HALF_UP);
+            rows.add(new Object[] {
+                value, row.operation().ordinal(), row.type().ordinal(),
+                Timestamp.valueOf(row.datetime()), categoryId, userId
+            });
+
+            // Início do mês: os snapshots são mensais, então deslocar a partir daí é equivalente
+            LocalDateTime month = row.datetime().toLocalDate().withDayOfMonth(1).atStartOfDay();
+            BigDecimal signed = row.operation() == Operation.NEGATIVE ? value.negate() : value;
+            balanceDeltas.merge(month, signed, BigDecimal::add);
+
+            SummaryDelta delta = summaryDeltas.computeIfAbsent(
+                    new SummaryKey(month, categoryId, row.operation()), key -> new SummaryDelta());
+            delta.total = delta.total.add(value);
+            delta.count++;
+        }
+
+        List<TransactionSummaryService.Change> summaryChanges() {
+            List<TransactionSummaryService.Change> changes = new ArrayList<>(summaryDeltas.size());
+            summaryDeltas.forEach((key, delta) -> changes.add(new TransactionSummaryService.Change(
+                    key.month(), key.categoryId(), key.operation(), delta.total, delta.count)));
+            return changes;
+        }
+
+        int size() {
+            return rows.size();
+        }
+
+        void clear() {
+            rows.clear();
+            balanceDeltas.clear();
+            summaryDeltas.clear();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.financialboost.api.services;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.financialboost.api.domain.summary.TransactionSummaryDTO;
+import com.financialboost.api.domain.transaction.Transaction;
+import com.financialboost.api.domain.transaction.Transaction.Operation;
+import com.financialboost.api.domain.transaction.TransactionState;
+import com.financialboost.api.repository.TransactionSummaryRepository;
+import com.financialboost.api.repository.UserBalanceRepository;
+import com.financialboost.api.repository.UserRepository;
+
+@Service
+public class TransactionSummaryService {
+
+    // Mesmo upsert de TransactionSummaryRepository.addToSummary, para batch JDBC
+    private static final String ADD_TO_SUMMARY_SQL = """
+        INSERT INTO transaction_summaries (user_id, month, category_id, operation, total, count)
+        VALUES (?, ?, ?, ?, ?, ?)
+        ON CONFLICT (user_id, month, category_id, operation) DO UPDATE
+            SET total = transaction_summaries.total + EXCLUDED.total,
+                count = transaction_summaries.count + EXCLUDED.count
+        """;
+
+    @Autowired
+    TransactionSummaryRepository summaryRepository;
+
+    @Autowired
+    UserBalanceRepository userBalanceRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Value("${api.summary.rebuild.parallelism:4}")
+    private int rebuildParallelism;
+
+    @Value("${api.summary.rebuild.chunk-size:100}")
+    private int rebuildChunkSize;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(UUID userId, LocalDateTime datetime, Integer categoryId, Operation operation, BigDecimal total, int count) {
+        if (total.signum() == 0 && count == 0) return;
+
+        LocalDate month = monthOf(datetime);
+        summaryRepository.addToSummary(userId, month, categoryId, operation.ordinal(), total, count);
+        if (count < 0) {
+            summaryRepository.deleteIfEmpty(userId, month, categoryId, operation.ordinal());
+        }
+    }
+
+    // Vários buckets de uma vez (importação): um único batch JDBC em vez de um upsert por bucket.
+    // Só para deltas de inclusão; remoções passam por apply, que apaga buckets vazios.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyAll(UUID userId, List<Change> changes) {
+        List<Object[]> args = new ArrayList<>(changes.size());
+        for (Change change : changes) {
+            if (change.count() < 0) {
+                throw new IllegalArgumentException("applyAll não aceita remoções");
+            }
+            args.add(new Object[] {
+                userId, monthOf(change.datetime()), change.categoryId(), change.operation().ordinal(),
+                change.total(), change.count()
+            });
+        }
+        if (!args.isEmpty()) {
+            jdbcTemplate.batchUpdate(ADD_TO_SUMMARY_SQL, args);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registerCreated(Transaction transaction) {
+        apply(transaction.getUser().getId(), transaction.getDatetime(), transaction.getCategory().getId(),
+                transaction.getOperation(), transaction.getValue(), 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registerUpdated(TransactionState previous, Transaction transaction) {
+        boolean sameBucket = monthOf(previous.datetime()).equals(monthOf(transaction.getDatetime()))
+                && previous.categoryId().equals(transaction.getCategory().getId())
+                && previous.operation() == transaction.getOperation();
+
+        if (sameBucket) {
+            apply(previous.userId(), previous.datetime(), previous.categoryId(), previous.operation(),
+                    transaction.getValue().subtract(previous.value()), 0);
+            return;
+        }
+
+        apply(previous.userId(), previous.datetime(), previous.categoryId(), previous.operation(),
+                previous.value().negate(), -1);
+        apply(previous.userId(), transaction.getDatetime(), transaction.getCategory().getId(),
+                transaction.getOperation(), transaction.getValue(), 1);
+    }
+
+    @Transactional(readOnly = true)
+    public List<TransactionSummaryDTO> getSummary(UUID userId, YearMonth from, YearMonth to) {
+        return summaryRepository.findSummary(userId, from.atDay(1), to.atDay(1));
+    }
+
+    // Recalcula o rollup a partir de transactions, em blocos de usuários processados em paralelo.
+    // Retorna -1 se já houver uma recomputação em andamento.
+    public int rebuildAll() throws InterruptedException {
+        if (!rebuilding.compareAndSet(false, true)) return -1;
+
+        ExecutorService executor = Executors.newFixedThreadPool(rebuildParallelism);
+        try {
+            List<UUID> userIds = userRepository.findAllIds();
+            List<Future<?>> chunks = new ArrayList<>();
+
+            for (int start = 0; start < userIds.size(); start += rebuildChunkSize) {
+                List<UUID> chunk = userIds.subList(start, Math.min(start + rebuildChunkSize, userIds.size()));
+                chunks.add(executor.submit(() -> chunk.forEach(this::rebuildUser)));
+            }
+
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+            return userIds.size();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error while rebuilding transaction summaries", e.getCause());
+        } finally {
+            executor.shutdownNow();
+            rebuilding.set(false);
+        }
+    }
+
+    private void rebuildUser(UUID userId) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            userBalanceRepository.lockByUserId(userId);
+            summaryRepository.deleteByUserId(userId);
+            summaryRepository.recomputeForUser(userId);
+        });
+    }
+
+    private LocalDate monthOf(LocalDateTime datetime) {
+        return datetime.toLocalDate().withDayOfMonth(1);
+    }
+
+    public record Change(LocalDateTime datetime, Integer categoryId, Operation operation, BigDecimal total, int count) {}
+}
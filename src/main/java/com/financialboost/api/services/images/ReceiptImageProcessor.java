@@ -0,0 +1,264 @@
+package com.financialboost.api.services.images;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+// Reduz o comprovante para no máximo maxDimension px no maior lado, regrava como JPEG e gera
+// uma miniatura. Usa só java.awt/javax.imageio, sem dependências nativas.
+public class ReceiptImageProcessor {
+
+    // Tag Orientation (0x0112) do EXIF, no IFD0 do bloco TIFF do segmento APP1
+    private static final int ORIENTATION_TAG = 0x0112;
+    private static final byte[] EXIF_HEADER = "Exif\0\0".getBytes(StandardCharsets.US_ASCII);
+
+    private final int maxDimension;
+    private final int thumbnailSize;
+    private final float quality;
+
+    public ReceiptImageProcessor(int maxDimension, int thumbnailSize, float quality) {
+        this.maxDimension = maxDimension;
+        this.thumbnailSize = thumbnailSize;
+        this.quality = quality;
+    }
+
+    // Retorna null quando o arquivo não é uma imagem que o ImageIO consiga ler (ex.: PDF);
+    // nesse caso o original deve ser enviado como está
+    public ProcessedImage process(Path source, Path image, Path thumbnail) throws IOException {
+        Decoded decoded = read(source);
+        if (decoded == null) {
+            return null;
+        }
+
+        long originalBytes = Files.size(source);
+
+        // Fotos de celular costumam vir gravadas na orientação do sensor, com a rotação só na
+        // tag EXIF. O JPEG regravado sai sem metadados, então a rotação é aplicada nos pixels
+        // antes de reduzir, e vale para a imagem e a miniatura.
+        int orientation = decoded.jpeg() ? orientation(source) : 1;
+        BufferedImage resized = toRgb(scaleToFit(orient(decoded.image(), orientation), maxDimension));
+        write(resized, image, quality);
+
+        // JPEG já dentro do limite, sem rotação pendente e menor que o regravado: mantém o original
+        boolean keepOriginal = decoded.jpeg()
+                && orientation == 1
+                && resized.getWidth() == decoded.image().getWidth()
+                && resized.getHeight() == decoded.image().getHeight()
+                && originalBytes <= Files.size(image);
+        if (keepOriginal) {
+            Files.copy(source, image, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        write(scaleToFit(resized, thumbnailSize), thumbnail, quality);
+
+        return new ProcessedImage(originalBytes, Files.size(image), Files.size(thumbnail), keepOriginal);
+    }
+
+    // Para fotos muito maiores que o alvo, decodifica já subamostrado: evita alocar o
+    // bitmap inteiro de uma foto de 12MP só para reduzi-lo em seguida
+    private Decoded read(Path source) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            if (input == null) return null;
+
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) return null;
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int largest = Math.max(reader.getWidth(0), reader.getHeight(0));
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = largest / (maxDimension * 2);
+                if (subsampling > 1) {
+                    param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                }
+
+                boolean jpeg = reader.getFormatName().equalsIgnoreCase("jpeg") || reader.getFormatName().equalsIgnoreCase("jpg");
+                return new Decoded(reader.read(0, param), jpeg);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Valor da tag Orientation (1 a 8) do primeiro APP1 com EXIF; 1 (normal) sem a tag ou com
+    // o cabeçalho ilegível. Lê só os segmentos antes dos dados da imagem.
+    static int orientation(Path source) throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(source)))) {
+            if (input.readUnsignedShort() != 0xFFD8) {
+                return 1;
+            }
+            while (true) {
+                int marker = input.readUnsignedShort();
+                // Início dos dados (SOS), fim da imagem ou lixo: não há mais metadados
+                if ((marker & 0xFF00) != 0xFF00 || marker == 0xFFDA || marker == 0xFFD9) {
+                    return 1;
+                }
+                int length = input.readUnsignedShort() - 2;
+                if (length < 0) {
+                    return 1;
+                }
+                if (marker == 0xFFE1) {
+                    int orientation = exifOrientation(input.readNBytes(length));
+                    if (orientation != 0) {
+                        return orientation;
+                    }
+                } else {
+                    input.skipNBytes(length);
+                }
+            }
+        } catch (EOFException e) {
+            return 1;
+        }
+    }
+
+    // 0 quando o segmento não é EXIF (ex.: XMP, também em APP1)
+    private static int exifOrientation(byte[] segment) {
+        if (segment.length < EXIF_HEADER.length + 8
+                || !ByteBuffer.wrap(segment, 0, EXIF_HEADER.length).equals(ByteBuffer.wrap(EXIF_HEADER))) {
+            return 0;
+        }
+
+        try {
+            ByteBuffer tiff = ByteBuffer.wrap(segment, EXIF_HEADER.length, segment.length - EXIF_HEADER.length).slice();
+            tiff.order(tiff.getShort(0) == 0x4949 ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+
+            int ifd = tiff.getInt(4);
+            int entries = Short.toUnsignedInt(tiff.getShort(ifd));
+            for (int i = 0; i < entries; i++) {
+                int entry = ifd + 2 + i * 12;
+                if (Short.toUnsignedInt(tiff.getShort(entry)) == ORIENTATION_TAG) {
+                    int value = Short.toUnsignedInt(tiff.getShort(entry + 8));
+                    return value >= 1 && value <= 8 ? value : 1;
+                }
+            }
+            return 1;
+        } catch (IndexOutOfBoundsException e) {
+            return 1;
+        }
+    }
+
+    // Desfaz a orientação EXIF: 2 e 4 espelham, 3 gira 180°, 6 e 8 giram 90° (horário e
+    // anti-horário), 5 e 7 espelham na diagonal. De 5 a 8 largura e altura se invertem.
+    private static BufferedImage orient(BufferedImage source, int orientation) {
+        int w = source.getWidth();
+        int h = source.getHeight();
+        AffineTransform transform = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0);
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h);
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h);
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0);
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w);
+            case 8 -> new AffineTransform(0, -1, 1, 0, 0, w);
+            default -> null;
+        };
+        if (transform == null) {
+            return source;
+        }
+
+        boolean swap = orientation >= 5;
+        BufferedImage target = new BufferedImage(swap ? h : w, swap ? w : h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, target.getWidth(), target.getHeight());
+            graphics.drawImage(source, transform, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    // Reduções grandes em passos de metade com bilinear ficam próximas de um filtro de área
+    // e bem mais rápidas que getScaledInstance(SCALE_SMOOTH)
+    private static BufferedImage scaleToFit(BufferedImage source, int limit) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        if (Math.max(width, height) <= limit) {
+            return source;
+        }
+
+        double ratio = (double) limit / Math.max(width, height);
+        int targetWidth = Math.max(1, (int) Math.round(width * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(height * ratio));
+
+        BufferedImage current = source;
+        while (width != targetWidth || height != targetHeight) {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            current = draw(current, width, height);
+        }
+        return current;
+    }
+
+    private static BufferedImage toRgb(BufferedImage source) {
+        if (source.getType() == BufferedImage.TYPE_INT_RGB) {
+            return source;
+        }
+        return draw(source, source.getWidth(), source.getHeight());
+    }
+
+    // Sempre desenha em RGB sobre fundo branco: JPEG não tem canal alfa
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static void write(BufferedImage image, Path target, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (OutputStream file = Files.newOutputStream(target);
+                ImageOutputStream output = ImageIO.createImageOutputStream(file)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private record Decoded(BufferedImage image, boolean jpeg) {}
+
+    public record ProcessedImage(
+        long originalBytes,
+        long imageBytes,
+        long thumbnailBytes,
+        boolean keptOriginal
+    ) {}
+}
@@ -0,0 +1,152 @@
+package com.financialboost.api.services.imports;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.financialboost.api.domain.imports.ImportedRow;
+import com.financialboost.api.domain.transaction.Transaction.Operation;
+import com.financialboost.api.domain.transaction.Transaction.TransactionType;
+
+// CSV com cabeçalho: datetime/data e value/valor obrigatórios; operation, type e
+// category/categoria opcionais. Sem "operation", o sinal do valor define a operação.
+public class CsvStatementReader implements StatementReader {
+
+    private final BufferedReader reader;
+    private final TransactionType defaultType;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private char delimiter = ',';
+    private long line;
+
+    public CsvStatementReader(InputStream input, TransactionType defaultType) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        this.defaultType = defaultType;
+        readHeader();
+    }
+
+    @Override
+    public ImportedRow next() throws IOException {
+        String raw;
+        do {
+            raw = reader.readLine();
+            line++;
+            if (raw == null) return null;
+        } while (raw.isBlank());
+
+        try {
+            return parse(split(raw));
+        } catch (IllegalArgumentException e) {
+            return ImportedRow.failed(line, e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void readHeader() throws IOException {
+        String header;
+        do {
+            header = reader.readLine();
+            line++;
+            if (header == null) throw new IllegalArgumentException("Arquivo vazio");
+        } while (header.isBlank());
+
+        if (header.startsWith("﻿")) header = header.substring(1);
+        delimiter = count(header, ';') > count(header, ',') ? ';' : ',';
+
+        List<String> names = split(header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(canonicalColumn(names.get(i)), i);
+        }
+
+        if (!columns.containsKey("datetime") || !columns.containsKey("value")) {
+            throw new IllegalArgumentException("Cabeçalho deve conter as colunas datetime e value");
+        }
+    }
+
+    private ImportedRow parse(List<String> fields) {
+        BigDecimal value = StatementValues.parseValue(field(fields, "value"));
+
+        String operationField = field(fields, "operation");
+        Operation operation = operationField == null || operationField.isBlank()
+                ? (value.signum() < 0 ? Operation.NEGATIVE : Operation.POSITIVE)
+                : Operation.valueOf(operationField.trim().toUpperCase());
+
+        String typeField = field(fields, "type");
+        TransactionType type = typeField == null || typeField.isBlank()
+                ? defaultType
+                : TransactionType.valueOf(typeField.trim().toUpperCase());
+
+        return new ImportedRow(
+            line,
+            StatementValues.parseDatetime(field(fields, "datetime")),
+            value.abs(),
+            operation,
+            type,
+            field(fields, "category"),
+            null
+        );
+    }
+
+    private String field(List<String> fields, String column) {
+        Integer index = columns.get(column);
+        if (index == null) return null;
+        if (index >= fields.size()) {
+            if (column.equals("datetime") || column.equals("value")) {
+                throw new IllegalArgumentException("Coluna " + column + " ausente");
+            }
+            return null;
+        }
+        return fields.get(index);
+    }
+
+    private List<String> split(String raw) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < raw.length() && raw.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == delimiter && !quoted) {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private static String canonicalColumn(String name) {
+        String column = name.trim().toLowerCase();
+        return switch (column) {
+            case "data", "date" -> "datetime";
+            case "valor", "amount" -> "value";
+            case "operacao", "operação" -> "operation";
+            case "tipo" -> "type";
+            case "categoria" -> "category";
+            default -> column;
+        };
+    }
+
+    private static int count(String value, char c) {
+        return (int) value.chars().filter(ch -> ch == c).count();
+    }
+}
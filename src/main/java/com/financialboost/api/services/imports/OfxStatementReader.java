@@ -0,0 +1,101 @@
+package com.financialboost.api.services.imports;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Scanner;
+
+import com.financialboost.api.domain.imports.ImportedRow;
+import com.financialboost.api.domain.transaction.Transaction.Operation;
+import com.financialboost.api.domain.transaction.Transaction.TransactionType;
+
+// Lê blocos <STMTTRN> de arquivos OFX (SGML ou XML) tag a tag. OFX não traz categoria,
+// então todas as transações usam a categoria padrão da importação.
+public class OfxStatementReader implements StatementReader {
+
+    private final Scanner scanner;
+    private final TransactionType defaultType;
+    private long record;
+
+    public OfxStatementReader(InputStream input, TransactionType defaultType) {
+        this.scanner = new Scanner(new InputStreamReader(input, StandardCharsets.ISO_8859_1)).useDelimiter("<");
+        this.defaultType = defaultType;
+    }
+
+    @Override
+    public ImportedRow next() throws IOException {
+        String datePosted = null;
+        String amount = null;
+        boolean inTransaction = false;
+
+        while (scanner.hasNext()) {
+            String token = scanner.next();
+            int end = token.indexOf('>');
+            if (end < 0) continue;
+
+            String tag = token.substring(0, end).trim().toUpperCase();
+            String value = token.substring(end + 1).trim();
+
+            if (tag.equals("STMTTRN")) {
+                inTransaction = true;
+                record++;
+                datePosted = null;
+                amount = null;
+            } else if (inTransaction && tag.equals("DTPOSTED")) {
+                datePosted = value;
+            } else if (inTransaction && tag.equals("TRNAMT")) {
+                amount = value;
+            } else if (inTransaction && tag.equals("/STMTTRN")) {
+                return toRow(datePosted, amount);
+            }
+        }
+
+        if (scanner.ioException() != null) throw scanner.ioException();
+        return null;
+    }
+
+    @Override
+    public void close() {
+        scanner.close();
+    }
+
+    private ImportedRow toRow(String datePosted, String amount) {
+        if (datePosted == null || amount == null) {
+            return ImportedRow.failed(record, "Registro sem DTPOSTED ou TRNAMT");
+        }
+
+        try {
+            BigDecimal value = StatementValues.parseValue(amount);
+            return new ImportedRow(
+                record,
+                parseOfxDate(datePosted),
+                value.abs(),
+                value.signum() < 0 ? Operation.NEGATIVE : Operation.POSITIVE,
+                defaultType,
+                null,
+                null
+            );
+        } catch (IllegalArgumentException e) {
+            return ImportedRow.failed(record, e.getMessage());
+        }
+    }
+
+    // Formato OFX: yyyyMMdd[HHmmss[.XXX]][[offset:TZ]]
+    private static LocalDateTime parseOfxDate(String raw) {
+        String digits = raw.replaceAll("[\\[.].*$", "");
+        try {
+            int year = Integer.parseInt(digits.substring(0, 4));
+            int month = Integer.parseInt(digits.substring(4, 6));
+            int day = Integer.parseInt(digits.substring(6, 8));
+            int hour = digits.length() >= 10 ? Integer.parseInt(digits.substring(8, 10)) : 0;
+            int minute = digits.length() >= 12 ? Integer.parseInt(digits.substring(10, 12)) : 0;
+            int second = digits.length() >= 14 ? Integer.parseInt(digits.substring(12, 14)) : 0;
+            return LocalDateTime.of(year, month, day, hour, minute, second);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Data inválida: " + raw);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.financialboost.api.services.imports;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import com.financialboost.api.domain.imports.ImportedRow;
+
+// Lê um extrato registro a registro, sem carregar o arquivo inteiro em memória
+public interface StatementReader extends Closeable {
+
+    // Próximo registro ou null no fim do arquivo
+    ImportedRow next() throws IOException;
+}
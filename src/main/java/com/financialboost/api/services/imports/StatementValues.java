@@ -0,0 +1,46 @@
+package com.financialboost.api.services.imports;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.time.temporal.ChronoField;
+
+final class StatementValues {
+
+    // Um único formatter com seções opcionais evita exceções por linha ao testar formatos:
+    // 2024-03-10, 2024-03-10T12:30[:00], 10/03/2024 e 10/03/2024 12:30[:00]
+    private static final DateTimeFormatter DATETIME_FORMAT = new DateTimeFormatterBuilder()
+        .optionalStart().appendPattern("uuuu-MM-dd").optionalStart().appendLiteral('T').appendPattern("HH:mm[:ss]").optionalEnd().optionalEnd()
+        .optionalStart().appendPattern("dd/MM/uuuu").optionalStart().appendLiteral(' ').appendPattern("HH:mm[:ss]").optionalEnd().optionalEnd()
+        .parseDefaulting(ChronoField.HOUR_OF_DAY, 0)
+        .parseDefaulting(ChronoField.MINUTE_OF_HOUR, 0)
+        .parseDefaulting(ChronoField.SECOND_OF_MINUTE, 0)
+        .toFormatter()
+        .withResolverStyle(ResolverStyle.STRICT);
+
+    private StatementValues() {}
+
+    static LocalDateTime parseDatetime(String raw) {
+        try {
+            return LocalDateTime.parse(raw.trim(), DATETIME_FORMAT);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Data inválida: " + raw);
+        }
+    }
+
+    // Aceita "1234.56" e o formato brasileiro "1.234,56"
+    static BigDecimal parseValue(String raw) {
+        String value = raw.trim();
+        if (value.indexOf(',') >= 0) {
+            value = value.replace(".", "").replace(',', '.');
+        }
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido: " + raw);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+-- NULL = sem comprovante; 0 = PENDING, 1 = UPLOADED, 2 = FAILED (Transaction.ImageStatus)
+ALTER TABLE transactions ADD COLUMN img_status INTEGER;
+
+UPDATE transactions SET img_status = 1 WHERE img_url IS NOT NULL;
@@ -0,0 +1 @@
+ALTER TABLE transactions ADD COLUMN thumbnail_url VARCHAR(255);
@@ -0,0 +1,18 @@
+-- Índice local dos comprovantes no S3, endereçados pelo SHA-256 do arquivo enviado
+CREATE TABLE stored_files (
+    digest VARCHAR(64) PRIMARY KEY,
+    object_key VARCHAR(255) NOT NULL,
+    url VARCHAR(255) NOT NULL,
+    thumbnail_key VARCHAR(255),
+    thumbnail_url VARCHAR(255),
+    size BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    last_used_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_stored_files_last_used ON stored_files (last_used_at);
+
+-- Referência da transação ao arquivo; a coleta remove arquivos sem nenhuma referência
+ALTER TABLE transactions ADD COLUMN img_digest VARCHAR(64);
+
+CREATE INDEX idx_transactions_img_digest ON transactions (img_digest) WHERE img_digest IS NOT NULL;
@@ -0,0 +1,55 @@
+-- Rastreamento de alterações para o GET /sync. Cada linha guarda a transação do banco que a
+-- gravou por último (change_xid) e uma sequência global que desempata dentro dela (change_seq).
+-- O sync só entrega alterações abaixo do xmin do snapshot atual: transações ainda abertas
+-- não podem aparecer depois com uma posição que o cliente já deixou para trás.
+CREATE SEQUENCE sync_change_seq;
+
+ALTER TABLE transactions
+    ADD COLUMN change_xid XID8 NOT NULL DEFAULT pg_current_xact_id(),
+    ADD COLUMN change_seq BIGINT NOT NULL DEFAULT nextval('sync_change_seq');
+
+ALTER TABLE categories
+    ADD COLUMN change_xid XID8 NOT NULL DEFAULT pg_current_xact_id(),
+    ADD COLUMN change_seq BIGINT NOT NULL DEFAULT nextval('sync_change_seq');
+
+CREATE INDEX idx_transactions_user_change ON transactions (user_id, change_xid, change_seq);
+CREATE INDEX idx_categories_user_change ON categories (user_id, change_xid, change_seq);
+
+-- INSERT usa os defaults; UPDATE (inclusive os em massa e os dos workers) passa pela trigger
+CREATE FUNCTION sync_track_change() RETURNS TRIGGER AS $$
+BEGIN
+    NEW.change_xid := pg_current_xact_id();
+    NEW.change_seq := nextval('sync_change_seq');
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_transactions_sync_change BEFORE UPDATE ON transactions
+    FOR EACH ROW EXECUTE FUNCTION sync_track_change();
+
+CREATE TRIGGER trg_categories_sync_change BEFORE UPDATE ON categories
+    FOR EACH ROW EXECUTE FUNCTION sync_track_change();
+
+-- Remoções viram tombstones na mesma ordenação das alterações
+CREATE TABLE sync_tombstones (
+    change_seq BIGINT PRIMARY KEY DEFAULT nextval('sync_change_seq'),
+    change_xid XID8 NOT NULL DEFAULT pg_current_xact_id(),
+    user_id UUID NOT NULL,
+    entity VARCHAR(16) NOT NULL,
+    entity_id INTEGER NOT NULL
+);
+
+CREATE INDEX idx_sync_tombstones_user_change ON sync_tombstones (user_id, change_xid, change_seq);
+
+CREATE FUNCTION sync_record_delete() RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO sync_tombstones (user_id, entity, entity_id) VALUES (OLD.user_id, TG_ARGV[0], OLD.id);
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_transactions_sync_delete AFTER DELETE ON transactions
+    FOR EACH ROW EXECUTE FUNCTION sync_record_delete('transaction');
+
+CREATE TRIGGER trg_categories_sync_delete AFTER DELETE ON categories
+    FOR EACH ROW EXECUTE FUNCTION sync_record_delete('category');
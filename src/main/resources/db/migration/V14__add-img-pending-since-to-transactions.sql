@@ -0,0 +1,5 @@
+-- Quando o comprovante entrou em PENDING: no reinício, envios que ficaram para trás há mais
+-- que api.receipts.stale-after viram FAILED. O índice parcial só cobre as linhas pendentes.
+ALTER TABLE transactions ADD COLUMN img_pending_since TIMESTAMP;
+
+CREATE INDEX idx_transactions_img_pending ON transactions (img_pending_since) WHERE img_status = 0;
@@ -0,0 +1,4 @@
+-- Envio de comprovante em andamento: cada markImagePending gera um token novo e o worker só
+-- grava o resultado se o token ainda for o da linha. Um envio antigo que termina depois de um
+-- mais novo não sobrescreve a imagem nem o status.
+ALTER TABLE transactions ADD COLUMN img_upload_token UUID;
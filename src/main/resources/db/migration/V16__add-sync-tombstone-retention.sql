@@ -0,0 +1,14 @@
+-- Tombstones mais antigos que api.sync.tombstone-retention são removidos. sync_retention guarda
+-- a posição do último removido: um cursor anterior a ela pode ter perdido remoções, e o
+-- GET /sync responde com uma ressincronização completa.
+ALTER TABLE sync_tombstones ADD COLUMN deleted_at TIMESTAMP NOT NULL DEFAULT now();
+
+CREATE INDEX idx_sync_tombstones_deleted_at ON sync_tombstones (deleted_at);
+
+CREATE TABLE sync_retention (
+    id BOOLEAN PRIMARY KEY DEFAULT TRUE CHECK (id),
+    purged_xid XID8 NOT NULL DEFAULT '0',
+    purged_seq BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO sync_retention DEFAULT VALUES;
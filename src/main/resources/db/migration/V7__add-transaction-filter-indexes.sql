@@ -0,0 +1,3 @@
+CREATE INDEX idx_transactions_user_datetime ON transactions (user_id, datetime DESC, id DESC);
+CREATE INDEX idx_transactions_user_category_datetime ON transactions (user_id, category_id, datetime DESC, id DESC);
+CREATE INDEX idx_categories_user ON categories (user_id);
@@ -0,0 +1,32 @@
+CREATE TABLE user_balances (
+    user_id UUID PRIMARY KEY,
+    balance BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    CONSTRAINT fk_user_balance_user FOREIGN KEY (user_id) REFERENCES users(id)
+);
+
+INSERT INTO user_balances (user_id, balance)
+SELECT u.id, COALESCE(SUM(CASE t.operation WHEN 0 THEN t.value ELSE -t.value END), 0)
+FROM users u
+LEFT JOIN transactions t ON t.user_id = u.id
+GROUP BY u.id;
+
+-- Snapshots no início de cada mês: saldo de tudo que aconteceu antes de "datetime"
+CREATE UNIQUE INDEX idx_balances_user_datetime ON balances (user_id, datetime DESC);
+
+INSERT INTO balances (user_id, datetime, balance)
+SELECT u.user_id, m.month_start, COALESCE((
+    SELECT SUM(CASE t.operation WHEN 0 THEN t.value ELSE -t.value END)
+    FROM transactions t
+    WHERE t.user_id = u.user_id AND t.datetime < m.month_start
+), 0)
+FROM (
+    SELECT user_id, date_trunc('month', MIN(datetime)) AS first_month
+    FROM transactions
+    GROUP BY user_id
+) u
+CROSS JOIN LATERAL generate_series(
+    u.first_month + INTERVAL '1 month',
+    date_trunc('month', NOW()),
+    INTERVAL '1 month'
+) AS m(month_start);
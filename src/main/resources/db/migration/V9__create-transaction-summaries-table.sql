@@ -0,0 +1,15 @@
+CREATE TABLE transaction_summaries (
+    user_id UUID NOT NULL,
+    month DATE NOT NULL,
+    category_id INTEGER NOT NULL,
+    operation INTEGER NOT NULL,
+    total BIGINT NOT NULL DEFAULT 0,
+    count INTEGER NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, month, category_id, operation),
+    CONSTRAINT fk_transaction_summary_user FOREIGN KEY (user_id) REFERENCES users(id)
+);
+
+INSERT INTO transaction_summaries (user_id, month, category_id, operation, total, count)
+SELECT user_id, CAST(date_trunc('month', datetime) AS DATE), category_id, operation, SUM(value), COUNT(*)
+FROM transactions
+GROUP BY 1, 2, 3, 4;
@@ -0,0 +1,324 @@
+package com.financialboost.api;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+// S3 em memória, no próprio processo, com o subconjunto da API REST que FileService usa
+// (path-style): PUT/GET/HEAD/DELETE de objeto e upload multipart (início, partes, listagem,
+// conclusão e cancelamento). Assinaturas não são conferidas. A latência opcional simula a
+// ida e volta até o bucket em testes de carga.
+public final class S3Stub implements AutoCloseable {
+
+    private static final DateTimeFormatter HTTP_DATE = DateTimeFormatter.RFC_1123_DATE_TIME;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Duration latency;
+
+    private final Map<String, StoredObject> objects = new ConcurrentHashMap<>();
+    private final Map<String, Map<Integer, byte[]>> uploads = new ConcurrentHashMap<>();
+    private final Map<String, String> uploadContentTypes = new ConcurrentHashMap<>();
+
+    private final AtomicInteger partsUploaded = new AtomicInteger();
+    private final AtomicInteger partsInFlight = new AtomicInteger();
+    private final AtomicInteger maxPartsInFlight = new AtomicInteger();
+
+    private S3Stub(Duration latency) throws IOException {
+        this.latency = latency;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public static S3Stub start() throws IOException {
+        return new S3Stub(Duration.ZERO);
+    }
+
+    public static S3Stub start(Duration latency) throws IOException {
+        return new S3Stub(latency);
+    }
+
+    // Valor para aws.endpoint
+    public String endpoint() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public byte[] object(String bucket, String key) {
+        StoredObject object = objects.get(bucket + "/" + key);
+        return object != null ? object.content() : null;
+    }
+
+    // Grava direto, sem HTTP nem latência, para preparar dados
+    public void put(String bucket, String key, byte[] content, String contentType) {
+        objects.put(bucket + "/" + key, new StoredObject(content, contentType, md5(content)));
+    }
+
+    public String contentType(String bucket, String key) {
+        StoredObject object = objects.get(bucket + "/" + key);
+        return object != null ? object.contentType() : null;
+    }
+
+    public Set<String> keys() {
+        return objects.keySet();
+    }
+
+    public int partsUploaded() {
+        return partsUploaded.get();
+    }
+
+    public int maxPartsInFlight() {
+        return maxPartsInFlight.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath().substring(1);
+        Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+        // Partes contam como em andamento desde a chegada, latência incluída
+        boolean part = exchange.getRequestMethod().equals("PUT") && query.containsKey("uploadId");
+        if (part) {
+            maxPartsInFlight.accumulateAndGet(partsInFlight.incrementAndGet(), Math::max);
+        }
+
+        try (exchange) {
+            if (!latency.isZero()) {
+                Thread.sleep(latency.toMillis());
+            }
+
+            switch (exchange.getRequestMethod()) {
+                case "PUT" -> {
+                    if (query.containsKey("uploadId")) {
+                        uploadPart(exchange, query);
+                    } else {
+                        put(exchange, path);
+                    }
+                }
+                case "POST" -> {
+                    if (query.containsKey("uploads")) {
+                        initiate(exchange, path);
+                    } else {
+                        complete(exchange, path, query.get("uploadId"));
+                    }
+                }
+                case "GET" -> {
+                    if (query.containsKey("uploadId")) {
+                        listParts(exchange, path, query.get("uploadId"));
+                    } else {
+                        get(exchange, path);
+                    }
+                }
+                case "HEAD" -> head(exchange, path);
+                case "DELETE" -> {
+                    if (query.containsKey("uploadId")) {
+                        uploads.remove(query.get("uploadId"));
+                        uploadContentTypes.remove(query.get("uploadId"));
+                    } else {
+                        objects.remove(path);
+                    }
+                    exchange.sendResponseHeaders(204, -1);
+                }
+                default -> exchange.sendResponseHeaders(405, -1);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (part) {
+                partsInFlight.decrementAndGet();
+            }
+        }
+    }
+
+    private void put(HttpExchange exchange, String path) throws IOException {
+        byte[] content = body(exchange);
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        objects.put(path, new StoredObject(content, contentType, md5(content)));
+        exchange.getResponseHeaders().set("ETag", "\"" + md5(content) + "\"");
+        exchange.sendResponseHeaders(200, -1);
+    }
+
+    private void initiate(HttpExchange exchange, String path) throws IOException {
+        String uploadId = UUID.randomUUID().toString();
+        uploads.put(uploadId, new TreeMap<>());
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        if (contentType != null) {
+            uploadContentTypes.put(uploadId, contentType);
+        }
+        int slash = path.indexOf('/');
+        xml(exchange, 200, "<InitiateMultipartUploadResult><Bucket>" + path.substring(0, slash) + "</Bucket><Key>"
+                + path.substring(slash + 1) + "</Key><UploadId>" + uploadId + "</UploadId></InitiateMultipartUploadResult>");
+    }
+
+    private void uploadPart(HttpExchange exchange, Map<String, String> query) throws IOException {
+        byte[] content = body(exchange);
+        Map<Integer, byte[]> parts = uploads.get(query.get("uploadId"));
+        if (parts == null) {
+            xml(exchange, 404, "<Error><Code>NoSuchUpload</Code></Error>");
+            return;
+        }
+        synchronized (parts) {
+            parts.put(Integer.valueOf(query.get("partNumber")), content);
+        }
+        partsUploaded.incrementAndGet();
+        exchange.getResponseHeaders().set("ETag", "\"" + md5(content) + "\"");
+        exchange.sendResponseHeaders(200, -1);
+    }
+
+    // O TransferManager lista as partes já enviadas antes de enviar as que faltam
+    private void listParts(HttpExchange exchange, String path, String uploadId) throws IOException {
+        Map<Integer, byte[]> parts = uploads.get(uploadId);
+        if (parts == null) {
+            xml(exchange, 404, "<Error><Code>NoSuchUpload</Code></Error>");
+            return;
+        }
+
+        StringBuilder listed = new StringBuilder();
+        synchronized (parts) {
+            parts.forEach((number, content) -> listed.append("<Part><PartNumber>").append(number)
+                    .append("</PartNumber><ETag>\"").append(md5(content)).append("\"</ETag><Size>")
+                    .append(content.length).append("</Size></Part>"));
+        }
+        int slash = path.indexOf('/');
+        xml(exchange, 200, "<ListPartsResult><Bucket>" + path.substring(0, slash) + "</Bucket><Key>"
+                + path.substring(slash + 1) + "</Key><UploadId>" + uploadId + "</UploadId><IsTruncated>false</IsTruncated>"
+                + listed + "</ListPartsResult>");
+    }
+
+    private void complete(HttpExchange exchange, String path, String uploadId) throws IOException {
+        body(exchange);
+        Map<Integer, byte[]> parts = uploadId != null ? uploads.remove(uploadId) : null;
+        if (parts == null) {
+            xml(exchange, 404, "<Error><Code>NoSuchUpload</Code></Error>");
+            return;
+        }
+
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        synchronized (parts) {
+            for (byte[] part : parts.values()) {
+                content.writeBytes(part);
+            }
+        }
+        // ETag de multipart tem o sufixo "-<partes>", e o SDK não confere MD5 nesse formato
+        String etag = md5(content.toByteArray()) + "-" + parts.size();
+        objects.put(path, new StoredObject(content.toByteArray(), uploadContentTypes.remove(uploadId), etag));
+        int slash = path.indexOf('/');
+        xml(exchange, 200, "<CompleteMultipartUploadResult><Bucket>" + path.substring(0, slash) + "</Bucket><Key>"
+                + path.substring(slash + 1) + "</Key><ETag>\"" + etag + "\"</ETag></CompleteMultipartUploadResult>");
+    }
+
+    private void get(HttpExchange exchange, String path) throws IOException {
+        StoredObject object = objects.get(path);
+        if (object == null) {
+            xml(exchange, 404, "<Error><Code>NoSuchKey</Code><Message>The specified key does not exist.</Message></Error>");
+            return;
+        }
+        metadataHeaders(exchange, object);
+        exchange.sendResponseHeaders(200, object.content().length == 0 ? -1 : object.content().length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(object.content());
+        }
+    }
+
+    private void head(HttpExchange exchange, String path) throws IOException {
+        StoredObject object = objects.get(path);
+        if (object == null) {
+            exchange.sendResponseHeaders(404, -1);
+            return;
+        }
+        metadataHeaders(exchange, object);
+        exchange.getResponseHeaders().set("Content-Length", Integer.toString(object.content().length));
+        exchange.sendResponseHeaders(200, -1);
+    }
+
+    private static void metadataHeaders(HttpExchange exchange, StoredObject object) {
+        exchange.getResponseHeaders().set("ETag", "\"" + object.etag() + "\"");
+        exchange.getResponseHeaders().set("Last-Modified", HTTP_DATE.format(ZonedDateTime.now(ZoneOffset.UTC)));
+        if (object.contentType() != null) {
+            exchange.getResponseHeaders().set("Content-Type", object.contentType());
+        }
+    }
+
+    private static void xml(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/xml");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    // O SDK assina o corpo de PUT e UploadPart em blocos "aws-chunked" quando o endpoint é http
+    private static byte[] body(HttpExchange exchange) throws IOException {
+        byte[] raw;
+        try (InputStream input = exchange.getRequestBody()) {
+            raw = input.readAllBytes();
+        }
+        String sha256 = exchange.getRequestHeaders().getFirst("x-amz-content-sha256");
+        return sha256 != null && sha256.startsWith("STREAMING-") ? decodeChunked(raw) : raw;
+    }
+
+    // Blocos "<tamanho hex>;chunk-signature=...\r\n<dados>\r\n", terminando num bloco vazio
+    private static byte[] decodeChunked(byte[] raw) {
+        ByteArrayOutputStream content = new ByteArrayOutputStream(raw.length);
+        int position = 0;
+        while (position < raw.length) {
+            int lineEnd = position;
+            while (raw[lineEnd] != '\r') lineEnd++;
+            String header = new String(raw, position, lineEnd - position, StandardCharsets.US_ASCII);
+            int size = Integer.parseInt(header.substring(0, header.indexOf(';')), 16);
+            if (size == 0) break;
+            content.write(raw, lineEnd + 2, size);
+            position = lineEnd + 2 + size + 2;
+        }
+        return content.toByteArray();
+    }
+
+    private static Map<String, String> query(String raw) {
+        Map<String, String> query = new HashMap<>();
+        if (raw == null) return query;
+        for (String pair : raw.split("&")) {
+            int equals = pair.indexOf('=');
+            query.put(equals < 0 ? pair : pair.substring(0, equals), equals < 0 ? "" : pair.substring(equals + 1));
+        }
+        return query;
+    }
+
+    private static String md5(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record StoredObject(byte[] content, String contentType, String etag) {}
+}
@@ -0,0 +1,56 @@
+package com.financialboost.api;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+// Postgres embutido compartilhado pelos testes que dependem do planejador ou do SQL real.
+// Cada classe de teste ganha um banco novo, migrado pelo Flyway do próprio contexto.
+public final class TestDatabase {
+
+    private static EmbeddedPostgres postgres;
+
+    private TestDatabase() {}
+
+    public static synchronized void register(DynamicPropertyRegistry registry) {
+        if (postgres == null) {
+            postgres = start();
+        }
+
+        String database = "test_" + UUID.randomUUID().toString().replace("-", "");
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute("CREATE DATABASE " + database);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Não foi possível criar o banco de teste", e);
+        }
+
+        String url = postgres.getJdbcUrl("postgres", database);
+        registry.add("spring.datasource.url", () -> url);
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    private static EmbeddedPostgres start() {
+        try {
+            EmbeddedPostgres started = EmbeddedPostgres.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    started.close();
+                } catch (IOException e) {
+                    // O processo já está terminando
+                }
+            }));
+            return started;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível iniciar o Postgres embutido", e);
+        }
+    }
+}
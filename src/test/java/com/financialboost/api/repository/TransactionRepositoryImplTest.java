@@ -0,0 +1,122 @@
+package com.financialboost.api.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.financialboost.api.TestDatabase;
+import com.financialboost.api.domain.transaction.TransactionFilter;
+import com.financialboost.api.domain.transaction.TransactionResponseDTO;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// As listagens projetam direto no DTO: um único SELECT (mais o COUNT da paginação por offset,
+// quando o total não sai da própria página), sem carregar Transaction, Category ou User
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TransactionRepositoryImplTest {
+
+    private static final int TRANSACTIONS = 30;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        TestDatabase.register(registry);
+    }
+
+    @Autowired
+    TransactionRepository repository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private TransactionFilter filter;
+
+    @BeforeEach
+    void seed() {
+        UUID userId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (login, password, role) VALUES ('user', 'x', 'USER') RETURNING id", UUID.class);
+        jdbcTemplate.update("""
+            INSERT INTO categories (name, user_id)
+            SELECT 'category-' || c, ? FROM generate_series(1, 3) c
+            """, userId);
+        jdbcTemplate.update("""
+            INSERT INTO transactions (value, operation, type, datetime, category_id, user_id)
+            SELECT n * 10, n % 2, n % 5, TIMESTAMP '2024-01-01' + n * INTERVAL '1 day',
+                   (SELECT MIN(id) FROM categories) + n % 3, ?
+            FROM generate_series(1, ?) n
+            """, userId, TRANSACTIONS);
+
+        filter = new TransactionFilter(userId, null, null, null, null, null, null, null);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void cursorListingRunsOneStatement() {
+        List<TransactionResponseDTO> page = repository.findResponses(
+                TransactionSpecifications.byFilter(filter), TransactionSpecifications.NEWEST_FIRST, 21);
+
+        assertThat(page).hasSize(21);
+        assertThat(page).allSatisfy(transaction -> assertThat(transaction.categoryName()).startsWith("category-"));
+        assertSingleStatement();
+    }
+
+    @Test
+    void lastOffsetPageRunsOneStatement() {
+        // Página incompleta: o total sai do offset, sem COUNT
+        Page<TransactionResponseDTO> page = repository.findResponses(
+                TransactionSpecifications.byFilter(filter), PageRequest.of(1, 20, TransactionSpecifications.NEWEST_FIRST));
+
+        assertThat(page.getContent()).hasSize(TRANSACTIONS - 20);
+        assertThat(page.getTotalElements()).isEqualTo(TRANSACTIONS);
+        assertSingleStatement();
+    }
+
+    @Test
+    void fullOffsetPageAddsOnlyTheCount() {
+        Page<TransactionResponseDTO> page = repository.findResponses(
+                TransactionSpecifications.byFilter(filter), PageRequest.of(0, 10, TransactionSpecifications.NEWEST_FIRST));
+
+        assertThat(page.getContent()).hasSize(10);
+        assertThat(page.getTotalElements()).isEqualTo(TRANSACTIONS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getEntityFetchCount()).isZero();
+    }
+
+    @Test
+    void streamedExportRunsOneStatement() {
+        try (Stream<TransactionResponseDTO> stream = repository.streamResponses(
+                TransactionSpecifications.byFilter(filter), TransactionSpecifications.NEWEST_FIRST, 7)) {
+            assertThat(stream.count()).isEqualTo(TRANSACTIONS);
+        }
+        assertSingleStatement();
+    }
+
+    private void assertSingleStatement() {
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getEntityFetchCount()).isZero();
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+    }
+}
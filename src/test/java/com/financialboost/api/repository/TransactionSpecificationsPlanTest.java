@@ -0,0 +1,151 @@
+package com.financialboost.api.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.financialboost.api.TestDatabase;
+import com.financialboost.api.domain.transaction.Transaction;
+import com.financialboost.api.domain.transaction.TransactionCursor;
+import com.financialboost.api.domain.transaction.TransactionFilter;
+
+// Cada combinação de filtros gera um SQL próprio; aqui o plano desse SQL, numa tabela com
+// volume suficiente para o Postgres preferir um índice, precisa usar o índice esperado
+@DataJpaTest(properties = {
+    // Valores literais no SQL gerado, para o EXPLAIN rodar sem parâmetros
+    "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.financialboost.api.repository.TransactionSpecificationsPlanTest$LastStatement"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+// Sem rollback por teste: a massa é gravada uma vez, num banco exclusivo desta classe
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TransactionSpecificationsPlanTest {
+
+    private static final int USERS = 50;
+    private static final int CATEGORIES_PER_USER = 5;
+    private static final int TRANSACTIONS_PER_USER = 2000;
+    private static final int LIMIT = 21;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        TestDatabase.register(registry);
+    }
+
+    @Autowired
+    TransactionRepository repository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private UUID userId;
+
+    private Integer categoryId;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("""
+            INSERT INTO users (login, password, role)
+            SELECT 'user' || u, 'x', 'USER' FROM generate_series(1, ?) u
+            """, USERS);
+        jdbcTemplate.update("""
+            INSERT INTO categories (name, user_id)
+            SELECT u.login || '-' || c, u.id FROM users u, generate_series(1, ?) c
+            """, CATEGORIES_PER_USER);
+        jdbcTemplate.update("""
+            INSERT INTO transactions (value, operation, type, datetime, category_id, user_id)
+            SELECT n % 1000, n % 2, n % 5, TIMESTAMP '2024-01-01' + n * INTERVAL '1 hour',
+                   (SELECT c.id FROM categories c WHERE c.user_id = u.id ORDER BY c.id
+                    OFFSET n % ? LIMIT 1),
+                   u.id
+            FROM users u, generate_series(1, ?) n
+            """, CATEGORIES_PER_USER, TRANSACTIONS_PER_USER);
+        jdbcTemplate.execute("ANALYZE users, categories, transactions");
+
+        userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE login = 'user1'", UUID.class);
+        categoryId = jdbcTemplate.queryForObject(
+                "SELECT MIN(id) FROM categories WHERE user_id = ?", Integer.class, userId);
+    }
+
+    @Test
+    void listingByUserUsesUserDatetimeIndex() {
+        String plan = explain(new TransactionFilter(userId, null, null, null, null, null, null, null));
+
+        assertThat(plan).contains("idx_transactions_user_datetime").doesNotContain("Seq Scan on transactions");
+    }
+
+    @Test
+    void listingByDatetimeRangeUsesUserDatetimeIndex() {
+        String plan = explain(new TransactionFilter(userId, null, null, null, null, null,
+                LocalDateTime.of(2024, 2, 1, 0, 0), LocalDateTime.of(2024, 2, 15, 0, 0)));
+
+        assertThat(plan).contains("idx_transactions_user_datetime").doesNotContain("Seq Scan on transactions");
+    }
+
+    @Test
+    void listingByCategoryUsesUserCategoryIndex() {
+        String plan = explain(new TransactionFilter(userId, null, categoryId, null, null, null, null, null));
+
+        assertThat(plan).contains("idx_transactions_user_category_datetime").doesNotContain("Seq Scan on transactions");
+    }
+
+    @Test
+    void cursorPageBoundsUserDatetimeIndex() {
+        TransactionFilter filter = new TransactionFilter(userId, null, null, null, null, null, null, null);
+        TransactionCursor cursor = jdbcTemplate.queryForObject("""
+            SELECT datetime, id FROM transactions WHERE user_id = ?
+            ORDER BY datetime DESC, id DESC OFFSET 1000 LIMIT 1
+            """, (rs, row) -> new TransactionCursor(rs.getObject(1, LocalDateTime.class), rs.getInt(2)), userId);
+
+        String plan = explain(TransactionSpecifications.byFilter(filter).and(TransactionSpecifications.after(cursor)));
+
+        // O cursor precisa limitar a varredura do índice, não só filtrar as linhas lidas
+        assertThat(plan).contains("idx_transactions_user_datetime").doesNotContain("Seq Scan on transactions");
+        assertThat(plan.lines().filter(line -> line.contains("Index Cond")))
+                .anySatisfy(line -> assertThat(line).contains("datetime <="));
+    }
+
+    // Roda a listagem de verdade para obter o SQL que o Hibernate gera e faz o EXPLAIN dele
+    private String explain(TransactionFilter filter) {
+        return explain(TransactionSpecifications.byFilter(filter));
+    }
+
+    private String explain(Specification<Transaction> spec) {
+        LastStatement.sql = null;
+        repository.findResponses(spec, TransactionSpecifications.NEWEST_FIRST, LIMIT);
+
+        // O limite continua como parâmetro mesmo no modo inline
+        String sql = LastStatement.sql.replace("?", Integer.toString(LIMIT));
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+        return String.join("\n", plan);
+    }
+
+    public static class LastStatement implements StatementInspector {
+
+        static volatile String sql;
+
+        @Override
+        public String inspect(String statement) {
+            if (statement.contains("from transactions")) {
+                sql = statement;
+            }
+            return statement;
+        }
+    }
+}
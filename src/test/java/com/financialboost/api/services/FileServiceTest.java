@@ -0,0 +1,141 @@
+package com.financialboost.api.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import com.financialboost.api.S3Stub;
+import com.financialboost.api.config.AWSConfig;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// FileService com o AmazonS3/TransferManager de produção contra um S3 em memória. Limite de
+// multipart baixo para que um arquivo de poucos MB já seja enviado em partes paralelas.
+@SpringJUnitConfig(FileServiceTest.Context.class)
+@TestPropertySource(properties = {
+    "aws.region=us-east-1",
+    "aws.bucket.name=" + FileServiceTest.BUCKET,
+    "aws.upload.multipart-threshold=1048576",
+    "aws.upload.part-size=262144"
+})
+class FileServiceTest {
+
+    static final String BUCKET = "receipts";
+
+    // A cadeia padrão de credenciais do SDK exige alguma; o stub não confere assinaturas
+    static {
+        System.setProperty("aws.accessKeyId", "test");
+        System.setProperty("aws.secretKey", "test");
+    }
+
+    // Latência pequena, só para que as partes enviadas em paralelo se sobreponham no stub
+    private static final S3Stub s3 = start();
+
+    @DynamicPropertySource
+    static void storage(DynamicPropertyRegistry registry) {
+        registry.add("aws.endpoint", s3::endpoint);
+    }
+
+    @AfterAll
+    static void stop() {
+        s3.close();
+    }
+
+    @Autowired
+    FileService fileService;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void smallFileIsSentInOnePut() throws IOException {
+        Path file = write("small.jpg", 64 * 1024);
+        int partsBefore = s3.partsUploaded();
+
+        String url = fileService.uploadFile(file, "receipts/small.jpg", "image/jpeg");
+
+        assertThat(url).isEqualTo(s3.endpoint() + "/" + BUCKET + "/receipts/small.jpg");
+        assertThat(s3.object(BUCKET, "receipts/small.jpg")).isEqualTo(Files.readAllBytes(file));
+        assertThat(s3.contentType(BUCKET, "receipts/small.jpg")).isEqualTo("image/jpeg");
+        assertThat(s3.partsUploaded()).isEqualTo(partsBefore);
+        assertThat(meterRegistry.get("storage.upload").tag("outcome", "SUCCESS").timer().count()).isPositive();
+    }
+
+    @Test
+    void largeFileIsSentInParallelParts() throws IOException {
+        Path file = write("large.pdf", 3 * 1024 * 1024 + 123);
+        int partsBefore = s3.partsUploaded();
+
+        fileService.uploadFile(file, "receipts/large.pdf", "application/pdf");
+
+        assertThat(s3.object(BUCKET, "receipts/large.pdf")).isEqualTo(Files.readAllBytes(file));
+        assertThat(s3.contentType(BUCKET, "receipts/large.pdf")).isEqualTo("application/pdf");
+        // 3MB em partes de 256KB
+        assertThat(s3.partsUploaded() - partsBefore).isEqualTo(13);
+        assertThat(s3.maxPartsInFlight()).isGreaterThan(1);
+    }
+
+    @Test
+    void readsInspectsAndDeletesObjects() throws IOException {
+        Path file = write("read.png", 10_000);
+        fileService.uploadFile(file, "receipts/read.png", "image/png");
+
+        FileService.ObjectInfo info = fileService.getObjectInfo("receipts/read.png");
+        assertThat(info.size()).isEqualTo(10_000);
+        assertThat(info.contentType()).isEqualTo("image/png");
+        try (InputStream input = fileService.openFile("receipts/read.png")) {
+            assertThat(input.readAllBytes()).isEqualTo(Files.readAllBytes(file));
+        }
+        assertThat(fileService.keyFromUrl(s3.endpoint() + "/" + BUCKET + "/receipts/read.png")).isEqualTo("receipts/read.png");
+
+        fileService.deleteFile("receipts/read.png");
+
+        assertThat(fileService.getObjectInfo("receipts/read.png")).isNull();
+        assertThat(fileService.openFile("receipts/read.png")).isNull();
+    }
+
+    private Path write(String name, int size) throws IOException {
+        byte[] content = new byte[size];
+        new Random(size).nextBytes(content);
+        return Files.write(dir.resolve(name), content);
+    }
+
+    private static S3Stub start() {
+        try {
+            return S3Stub.start(Duration.ofMillis(20));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Configuration
+    @Import({AWSConfig.class, FileService.class})
+    static class Context {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.financialboost.api.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.financialboost.api.TestDatabase;
+import com.financialboost.api.domain.sync.SyncCursor;
+import com.financialboost.api.domain.sync.SyncDeletionDTO;
+import com.financialboost.api.domain.sync.SyncResponseDTO;
+import com.financialboost.api.domain.transaction.TransactionResponseDTO;
+
+// Retenção dos tombstones do GET /sync: o que passa da janela é apagado, e um cursor anterior
+// ao último apagado recebe a ressincronização completa em vez de perder remoções
+@JdbcTest(properties = "api.sync.tombstone-retention=P30D")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SyncService.class)
+// Sem transação de teste: o sync só entrega o que está abaixo do xmin do snapshot, ou seja,
+// alterações de transações já confirmadas
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SyncServiceTest {
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        TestDatabase.register(registry);
+    }
+
+    @Autowired
+    SyncService syncService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void tombstonesPastRetentionArePurgedAndOlderCursorsResync() {
+        UUID userId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (login, password, role) VALUES ('sync', 'x', 'USER') RETURNING id", UUID.class);
+        Integer categoryId = jdbcTemplate.queryForObject(
+                "INSERT INTO categories (name, user_id) VALUES ('synced', ?) RETURNING id", Integer.class, userId);
+        int kept = insertTransaction(userId, categoryId);
+        int old = insertTransaction(userId, categoryId);
+        int recent = insertTransaction(userId, categoryId);
+
+        SyncCursor synced = cursor(syncService.changesSince(userId, SyncCursor.START, 100));
+
+        // Uma remoção de 40 dias atrás e uma de agora
+        jdbcTemplate.update("DELETE FROM transactions WHERE id = ?", old);
+        jdbcTemplate.update("UPDATE sync_tombstones SET deleted_at = now() - INTERVAL '40 days' WHERE entity_id = ?", old);
+        jdbcTemplate.update("DELETE FROM transactions WHERE id = ?", recent);
+
+        assertThat(syncService.purgeTombstones()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForList("SELECT entity_id FROM sync_tombstones", Integer.class)).containsExactly(recent);
+
+        // O cursor é anterior à remoção apagada: tudo de novo, desde o início
+        SyncResponseDTO resync = syncService.changesSince(userId, synced, 100);
+        assertThat(resync.resync()).isTrue();
+        assertThat(resync.hasMore()).isFalse();
+        assertThat(resync.transactions()).extracting(TransactionResponseDTO::id).containsExactly(kept);
+        assertThat(resync.categories()).hasSize(1);
+
+        // Depois da ressincronização o cursor já está além do que foi apagado
+        SyncResponseDTO next = syncService.changesSince(userId, cursor(resync), 100);
+        assertThat(next.resync()).isFalse();
+        assertThat(next.transactions()).isEmpty();
+
+        // Sem cursor nunca é ressincronização: já é a lista completa
+        assertThat(syncService.changesSince(userId, SyncCursor.START, 100).resync()).isFalse();
+    }
+
+    @Test
+    void tombstonesInsideRetentionAreDelivered() {
+        UUID userId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (login, password, role) VALUES ('recent', 'x', 'USER') RETURNING id", UUID.class);
+        Integer categoryId = jdbcTemplate.queryForObject(
+                "INSERT INTO categories (name, user_id) VALUES ('recent', ?) RETURNING id", Integer.class, userId);
+        int removed = insertTransaction(userId, categoryId);
+
+        SyncCursor synced = cursor(syncService.changesSince(userId, SyncCursor.START, 100));
+        jdbcTemplate.update("DELETE FROM transactions WHERE id = ?", removed);
+        syncService.purgeTombstones();
+
+        SyncResponseDTO changes = syncService.changesSince(userId, synced, 100);
+        assertThat(changes.resync()).isFalse();
+        assertThat(changes.deleted()).extracting(SyncDeletionDTO::id).containsExactly(removed);
+    }
+
+    private int insertTransaction(UUID userId, Integer categoryId) {
+        return jdbcTemplate.queryForObject("""
+            INSERT INTO transactions (value, operation, type, datetime, category_id, user_id)
+            VALUES (10, 0, 0, now(), ?, ?) RETURNING id
+            """, Integer.class, categoryId, userId);
+    }
+
+    private static SyncCursor cursor(SyncResponseDTO response) {
+        return SyncCursor.decode(response.cursor());
+    }
+}
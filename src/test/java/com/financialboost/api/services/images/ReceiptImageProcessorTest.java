@@ -0,0 +1,102 @@
+package com.financialboost.api.services.images;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// Fotos de celular em retrato chegam gravadas deitadas, com a rotação só na tag EXIF
+class ReceiptImageProcessorTest {
+
+    private final ReceiptImageProcessor processor = new ReceiptImageProcessor(1600, 20, 0.9f);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void orientationSixIsRotatedBeforeScaling() throws IOException {
+        // 80x40 deitada: metade esquerda vermelha, direita azul. Girada 90° no sentido horário
+        // fica 40x80, com o vermelho em cima.
+        Path source = Files.write(dir.resolve("portrait.jpg"), withOrientation(landscape(), 6));
+        assertThat(ReceiptImageProcessor.orientation(source)).isEqualTo(6);
+
+        ReceiptImageProcessor.ProcessedImage result =
+                processor.process(source, dir.resolve("image.jpg"), dir.resolve("thumbnail.jpg"));
+
+        assertThat(result.keptOriginal()).isFalse();
+        assertUpright(ImageIO.read(dir.resolve("image.jpg").toFile()), 40, 80);
+        assertUpright(ImageIO.read(dir.resolve("thumbnail.jpg").toFile()), 10, 20);
+    }
+
+    @Test
+    void imageWithoutExifIsKeptAsIs() throws IOException {
+        Path source = Files.write(dir.resolve("landscape.jpg"), jpeg(landscape()));
+        assertThat(ReceiptImageProcessor.orientation(source)).isEqualTo(1);
+
+        processor.process(source, dir.resolve("image.jpg"), dir.resolve("thumbnail.jpg"));
+
+        BufferedImage image = ImageIO.read(dir.resolve("image.jpg").toFile());
+        assertThat(image.getWidth()).isEqualTo(80);
+        assertThat(image.getHeight()).isEqualTo(40);
+    }
+
+    private static void assertUpright(BufferedImage image, int width, int height) {
+        assertThat(image.getWidth()).isEqualTo(width);
+        assertThat(image.getHeight()).isEqualTo(height);
+        assertThat(isRed(new Color(image.getRGB(width / 2, height / 4)))).isTrue();
+        assertThat(isRed(new Color(image.getRGB(width / 2, height * 3 / 4)))).isFalse();
+    }
+
+    private static boolean isRed(Color color) {
+        return color.getRed() > 200 && color.getBlue() < 80;
+    }
+
+    private static BufferedImage landscape() {
+        BufferedImage image = new BufferedImage(80, 40, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.RED);
+        graphics.fillRect(0, 0, 40, 40);
+        graphics.setColor(Color.BLUE);
+        graphics.fillRect(40, 0, 40, 40);
+        graphics.dispose();
+        return image;
+    }
+
+    private static byte[] jpeg(BufferedImage image) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpeg", output);
+        return output.toByteArray();
+    }
+
+    // Insere logo após o SOI um APP1 com um TIFF big-endian cujo IFD0 só tem a tag Orientation
+    private static byte[] withOrientation(BufferedImage image, int orientation) throws IOException {
+        byte[] jpeg = jpeg(image);
+
+        ByteBuffer exif = ByteBuffer.allocate(6 + 8 + 2 + 12 + 4);
+        exif.put("Exif\0\0".getBytes());
+        exif.put(new byte[] { 'M', 'M', 0, 42 }).putInt(8);
+        exif.putShort((short) 1);
+        exif.putShort((short) 0x0112).putShort((short) 3).putInt(1).putShort((short) orientation).putShort((short) 0);
+        exif.putInt(0);
+
+        ByteBuffer segment = ByteBuffer.allocate(4 + exif.capacity());
+        segment.putShort((short) 0xFFE1).putShort((short) (exif.capacity() + 2)).put(exif.array());
+
+        byte[] result = Arrays.copyOf(jpeg, jpeg.length + segment.capacity());
+        System.arraycopy(segment.array(), 0, result, 2, segment.capacity());
+        System.arraycopy(jpeg, 2, result, 2 + segment.capacity(), jpeg.length - 2);
+        return result;
+    }
+}